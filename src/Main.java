@@ -6,7 +6,7 @@ import java.io.IOException;
 public class Main {
 
     public static void main(String[] args) throws IOException {
-        HttpTaskServer server = new HttpTaskServer(Managers.getDefault());
+        HttpTaskServer server = new HttpTaskServer(Managers.getSnapshot());
         server.start();
     }
 }
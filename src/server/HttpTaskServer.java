@@ -7,8 +7,11 @@ import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import taskmanagers.TaskManager;
 import server.adapters.Adapters;
+import server.handlers.ArchiveHandler;
 import server.handlers.EpicHandler;
 import server.handlers.HistoryHandler;
+import server.handlers.SearchHandler;
+import server.handlers.StatsHandler;
 import server.handlers.SubtaskHandler;
 import server.handlers.TaskHandler;
 
@@ -36,6 +39,9 @@ public class HttpTaskServer {
         httpServer.createContext("/epics", new EpicHandler(taskManager));
         httpServer.createContext("/history", new HistoryHandler(taskManager));
         httpServer.createContext("/prioritized", new HistoryHandler(taskManager));
+        httpServer.createContext("/search", new SearchHandler(taskManager));
+        httpServer.createContext("/stats", new StatsHandler(taskManager));
+        httpServer.createContext("/archive", new ArchiveHandler(taskManager));
         httpServer.createContext("/", new UnknownPathHandler());
 
         httpServer.start();
@@ -0,0 +1,87 @@
+package server.handlers;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import exceptions.NotFoundException;
+import server.HttpTaskServer;
+import taskmanagers.TaskManager;
+import tasks.Task;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+public class ArchiveHandler extends BaseHttpHandler implements HttpHandler {
+    private final TaskManager taskManager;
+    private final Gson gson;
+
+    public ArchiveHandler(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        this.gson = HttpTaskServer.getGson();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Endpoint endpoint = Endpoint.endpointFromMethodAndPath(method, path);
+
+        switch (endpoint) {
+            case GET_ARCHIVE:
+                List<Task> tasks;
+                try {
+                    Map<String, String> query = parseQuery(exchange);
+                    tasks = taskManager.getArchivedTasksPage(parseAfter(query), parseLimit(query));
+                } catch (IllegalArgumentException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
+                if (tasks.isEmpty()) {
+                    sendIfEmptyList(exchange);
+                    return;
+                }
+                sendText(exchange, gson.toJson(tasks), HttpStatusCode.OK);
+                break;
+
+            case GET_ARCHIVED_TASK_BY_ID:
+                try {
+                    Task task = taskManager.getArchivedTask(extractIdFromPath(path));
+                    sendText(exchange, gson.toJson(task), HttpStatusCode.OK);
+                } catch (NotFoundException exception) {
+                    sendText(exchange, exception.getMessage(), HttpStatusCode.NOT_FOUND);
+                } catch (IllegalArgumentException exception) {
+                    sendText(exchange, "Ошибка: неверный путь или идентификатор", HttpStatusCode.BAD_REQUEST);
+                }
+                break;
+
+            case ARCHIVE_DONE_TASKS:
+                int archived;
+                try {
+                    Map<String, String> query = parseQuery(exchange);
+                    long minutes = Long.parseLong(query.getOrDefault("olderThan", ""));
+                    archived = taskManager.archiveDoneTasks(Duration.ofMinutes(minutes));
+                } catch (IllegalArgumentException | ArithmeticException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+                sendText(exchange, gson.toJson(Map.of("archived", archived)), HttpStatusCode.OK);
+                break;
+
+            default:
+                new HttpTaskServer.UnknownPathHandler().handle(exchange);
+        }
+    }
+
+    private int extractIdFromPath(String path) {
+        String[] pathParts = path.split("/");
+
+        if (pathParts.length >= 3 && "archive".equals(pathParts[1])) {
+            return Integer.parseInt(pathParts[2]);
+        }
+
+        throw new IllegalArgumentException("Неверный путь, идентификатор не найден");
+    }
+}
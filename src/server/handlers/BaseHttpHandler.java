@@ -4,9 +4,13 @@ import com.sun.net.httpserver.HttpExchange;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 public abstract class BaseHttpHandler {
+    protected static final int DEFAULT_PAGE_LIMIT = 100;
 
     protected void sendText(HttpExchange exchange, String response, HttpStatusCode statusCode) throws IOException {
         byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
@@ -25,7 +29,67 @@ public abstract class BaseHttpHandler {
         sendText(exchange, "Ошибка: задача пересекается с существующими задачами", HttpStatusCode.NOT_ACCEPTABLE);
     }
 
+    protected void sendConflict(HttpExchange exchange, String message) throws IOException {
+        sendText(exchange, message, HttpStatusCode.CONFLICT);
+    }
+
     protected void sendIfEmptyList(HttpExchange exchange) throws IOException {
         exchange.sendResponseHeaders(HttpStatusCode.NO_CONTENT.getCode(), -1);
     }
+
+    protected void sendBadQuery(HttpExchange exchange) throws IOException {
+        sendText(exchange, "Ошибка: некорректные параметры запроса", HttpStatusCode.BAD_REQUEST);
+    }
+
+    protected Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+
+        for (String parameter : rawQuery.split("&")) {
+            String[] parts = parameter.split("=", 2);
+            String value = parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "";
+            query.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8), value);
+        }
+
+        return query;
+    }
+
+    protected boolean isPageRequest(Map<String, String> query) {
+        return query.containsKey("after") || query.containsKey("limit");
+    }
+
+    protected int parseAfter(Map<String, String> query) {
+        return Integer.parseInt(query.getOrDefault("after", "0"));
+    }
+
+    protected int parseLimit(Map<String, String> query) {
+        int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : DEFAULT_PAGE_LIMIT;
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным.");
+        }
+
+        return limit;
+    }
+
+    protected Long parseIfMatch(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("If-Match");
+        if (header == null || header.isBlank() || "*".equals(header.trim())) {
+            return null;
+        }
+
+        String version = header.trim();
+        if (version.startsWith("W/")) {
+            version = version.substring(2);
+        }
+        if (version.length() >= 2 && version.startsWith("\"") && version.endsWith("\"")) {
+            version = version.substring(1, version.length() - 1);
+        }
+
+        return Long.parseLong(version);
+    }
 }
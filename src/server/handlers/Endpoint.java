@@ -19,6 +19,16 @@ public enum Endpoint {
 
     GET_HISTORY("GET", "/history"),
     GET_PRIORITIZED("GET", "/prioritized"),
+    GET_FREE_SLOT("GET", "/prioritized/free-slot"),
+
+    SEARCH("GET", "/search"),
+
+    GET_STATS("GET", "/stats"),
+    GET_TOTAL_DURATION("GET", "/stats/duration"),
+
+    GET_ARCHIVE("GET", "/archive"),
+    GET_ARCHIVED_TASK_BY_ID("GET", "/archive/{id}"),
+    ARCHIVE_DONE_TASKS("POST", "/archive"),
 
     UNKNOWN("", "");
 
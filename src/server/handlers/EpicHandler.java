@@ -5,14 +5,16 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exceptions.NotFoundException;
 import exceptions.TaskIntersectionException;
+import exceptions.VersionConflictException;
 import taskmanagers.TaskManager;
 import server.HttpTaskServer;
 import tasks.Epic;
+import tasks.TaskStatus;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.Map;
 
 public class EpicHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager taskManager;
@@ -33,7 +35,21 @@ public class EpicHandler extends BaseHttpHandler implements HttpHandler {
 
         switch (endpoint) {
             case GET_EPICS:
-                List<Epic> epics = taskManager.getEpicsList();
+                Collection<Epic> epics;
+                try {
+                    Map<String, String> query = parseQuery(exchange);
+                    if (query.containsKey("status")) {
+                        epics = taskManager.getEpicsByStatus(TaskStatus.valueOf(query.get("status")));
+                    } else if (isPageRequest(query)) {
+                        epics = taskManager.getEpicsPage(parseAfter(query), parseLimit(query));
+                    } else {
+                        epics = taskManager.getEpicsView();
+                    }
+                } catch (IllegalArgumentException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
                 if (epics.isEmpty()) {
                     sendIfEmptyList(exchange);
                     return;
@@ -61,11 +77,7 @@ public class EpicHandler extends BaseHttpHandler implements HttpHandler {
             case GET_EPIC_SUBTASKS:
                 try {
                     int idForGet = extractIdFromPath(path);
-                    Optional<Epic> epic = taskManager.getEpicsList().stream()
-                            .filter(epicStr -> epicStr.getID() == idForGet)
-                            .findFirst();
-
-                    if (epic.isEmpty()) {
+                    if (!taskManager.containsEpic(idForGet)) {
                         sendNotFound(exchange);
                         return;
                     }
@@ -83,10 +95,6 @@ public class EpicHandler extends BaseHttpHandler implements HttpHandler {
             case DELETE_EPIC:
                 try {
                     int idForDelete = extractIdFromPath(path);
-                    if (taskManager.getEpic(idForDelete) == null) {
-                        sendNotFound(exchange);
-                        return;
-                    }
                     taskManager.deleteEpic(idForDelete);
                     sendText(exchange, "Эпик с Id: " + idForDelete + " успешно удален", HttpStatusCode.NO_CONTENT);
 
@@ -101,6 +109,14 @@ public class EpicHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void createOrUpdateEpic(HttpExchange exchange) throws IOException {
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(exchange);
+        } catch (NumberFormatException exception) {
+            sendText(exchange, "Ошибка: некорректный заголовок If-Match", HttpStatusCode.BAD_REQUEST);
+            return;
+        }
+
         Epic newEpic;
         try {
             newEpic = gson.fromJson(requestBody, Epic.class);
@@ -120,26 +136,24 @@ public class EpicHandler extends BaseHttpHandler implements HttpHandler {
             return;
         }
 
-        if (newEpic.getID() > 0 && taskManager.getEpicsList().isEmpty()) {
+        if (newEpic.getID() > 0 && taskManager.getEpicsView().isEmpty()) {
             sendText(exchange, "Ошибка: Список эпиков пуст", HttpStatusCode.BAD_REQUEST);
             return;
         }
 
         try {
             if (newEpic.getID() == -1) {
-                taskManager.addEpic(newEpic);
-                int newEpicId = taskManager.getEpicsList().getLast().getID();
+                int newEpicId = taskManager.addEpic(newEpic);
                 sendText(exchange, "Эпик с Id: " + newEpicId + " успешно создан", HttpStatusCode.CREATED);
                 return;
             }
 
-            Epic finalNewSubtask = newEpic;
-            List<Epic> list = taskManager.getEpicsList().stream()
-                    .filter(epic -> epic.getID() == finalNewSubtask.getID())
-                    .toList();
-
-            if (!list.isEmpty()) {
-                taskManager.updateEpic(newEpic);
+            if (taskManager.containsEpic(newEpic.getID())) {
+                if (expectedVersion != null) {
+                    taskManager.updateEpic(newEpic, expectedVersion);
+                } else {
+                    taskManager.updateEpic(newEpic);
+                }
                 sendText(exchange, "Эпик с Id: " + newEpic.getID() + " успешно обновлен", HttpStatusCode.CREATED);
             } else {
                 sendNotFound(exchange);
@@ -147,6 +161,8 @@ public class EpicHandler extends BaseHttpHandler implements HttpHandler {
 
         } catch (TaskIntersectionException exception) {
             sendHasInteractions(exchange);
+        } catch (VersionConflictException exception) {
+            sendConflict(exchange, exception.getMessage());
         } catch (Exception exception) {
             sendText(exchange, "Ошибка: неизвестная ошибка при добавлении эпика", HttpStatusCode.INTERNAL_SERVER_ERROR);
         }
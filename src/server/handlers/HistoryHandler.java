@@ -3,12 +3,20 @@ package server.handlers;
 import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import exceptions.NotFoundException;
 import taskmanagers.TaskManager;
 import server.HttpTaskServer;
 import tasks.Task;
 
 import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager taskManager;
@@ -24,10 +32,23 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
         String method = exchange.getRequestMethod();
         String path = exchange.getRequestURI().getPath();
         Endpoint endpoint = Endpoint.endpointFromMethodAndPath(method, path);
+        Map<String, String> query = parseQuery(exchange);
 
         switch (endpoint) {
             case GET_HISTORY:
-                List<Task> history = taskManager.getHistory();
+                List<Task> history;
+                try {
+                    history = isPageRequest(query)
+                            ? taskManager.getHistoryPage(parseAfter(query), parseLimit(query))
+                            : taskManager.getHistory();
+                } catch (NotFoundException exception) {
+                    sendText(exchange, exception.getMessage(), HttpStatusCode.NOT_FOUND);
+                    return;
+                } catch (IllegalArgumentException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
                 if (history.isEmpty()) {
                     sendIfEmptyList(exchange);
                     return;
@@ -36,7 +57,23 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
                 break;
 
             case GET_PRIORITIZED:
-                List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+                List<Task> prioritizedTasks;
+                try {
+                    if (isTimeRangeRequest(query)) {
+                        prioritizedTasks = getPrioritizedInRange(query);
+                    } else if (isPageRequest(query)) {
+                        prioritizedTasks = taskManager.getPrioritizedTasksPage(parseAfter(query), parseLimit(query));
+                    } else {
+                        prioritizedTasks = taskManager.getPrioritizedTasks();
+                    }
+                } catch (NotFoundException exception) {
+                    sendText(exchange, exception.getMessage(), HttpStatusCode.NOT_FOUND);
+                    return;
+                } catch (IllegalArgumentException | DateTimeParseException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
                 if (prioritizedTasks.isEmpty()) {
                     sendIfEmptyList(exchange);
                     return;
@@ -45,8 +82,44 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
                 sendText(exchange, gson.toJson(prioritizedTasks), HttpStatusCode.OK);
                 break;
 
+            case GET_FREE_SLOT:
+                Map<String, LocalDateTime> slot = new LinkedHashMap<>();
+                try {
+                    Duration duration = Duration.ofMinutes(Long.parseLong(query.get("duration")));
+                    LocalDateTime notBefore = query.containsKey("notBefore")
+                            ? LocalDateTime.parse(query.get("notBefore"))
+                            : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+                    LocalDateTime slotStart = taskManager.findFreeSlot(duration, notBefore);
+                    slot.put("startTime", slotStart);
+                    slot.put("endTime", slotStart.plus(duration));
+                } catch (IllegalArgumentException | ArithmeticException | DateTimeException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
+                sendText(exchange, gson.toJson(slot), HttpStatusCode.OK);
+                break;
+
             default:
                 new HttpTaskServer.UnknownPathHandler().handle(exchange);
         }
     }
+
+    private boolean isTimeRangeRequest(Map<String, String> query) {
+        return query.containsKey("from") || query.containsKey("to");
+    }
+
+    private List<Task> getPrioritizedInRange(Map<String, String> query) {
+        if (!query.containsKey("from") || query.containsKey("after")) {
+            throw new IllegalArgumentException("Некорректные параметры интервала.");
+        }
+
+        LocalDateTime from = LocalDateTime.parse(query.get("from"));
+        int limit = query.containsKey("limit") ? parseLimit(query) : Integer.MAX_VALUE;
+        if (!query.containsKey("to")) {
+            return taskManager.getPrioritizedTasksAfter(from, limit);
+        }
+
+        return taskManager.getPrioritizedTasks(from, LocalDateTime.parse(query.get("to")), limit);
+    }
 }
@@ -0,0 +1,50 @@
+package server.handlers;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import taskmanagers.TaskManager;
+import server.HttpTaskServer;
+import tasks.Task;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class SearchHandler extends BaseHttpHandler implements HttpHandler {
+    private final TaskManager taskManager;
+    private final Gson gson;
+
+    public SearchHandler(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        this.gson = HttpTaskServer.getGson();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Endpoint endpoint = Endpoint.endpointFromMethodAndPath(method, path);
+
+        switch (endpoint) {
+            case SEARCH:
+                Map<String, String> query = parseQuery(exchange);
+                String text = query.get("q");
+                if (text == null || text.isBlank()) {
+                    sendText(exchange, "Ошибка: не задан поисковый запрос", HttpStatusCode.BAD_REQUEST);
+                    return;
+                }
+
+                List<Task> foundTasks = taskManager.searchTasks(text);
+                if (foundTasks.isEmpty()) {
+                    sendIfEmptyList(exchange);
+                    return;
+                }
+                sendText(exchange, gson.toJson(foundTasks), HttpStatusCode.OK);
+                break;
+
+            default:
+                new HttpTaskServer.UnknownPathHandler().handle(exchange);
+        }
+    }
+}
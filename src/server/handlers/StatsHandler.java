@@ -0,0 +1,57 @@
+package server.handlers;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import server.HttpTaskServer;
+import taskmanagers.TaskManager;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StatsHandler extends BaseHttpHandler implements HttpHandler {
+    private final TaskManager taskManager;
+    private final Gson gson;
+
+    public StatsHandler(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        this.gson = HttpTaskServer.getGson();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Endpoint endpoint = Endpoint.endpointFromMethodAndPath(method, path);
+
+        switch (endpoint) {
+            case GET_STATS:
+                sendText(exchange, gson.toJson(taskManager.getStats()), HttpStatusCode.OK);
+                break;
+
+            case GET_TOTAL_DURATION:
+                Map<String, Duration> total = new LinkedHashMap<>();
+                try {
+                    Map<String, String> query = parseQuery(exchange);
+                    if (!query.containsKey("type") || !query.containsKey("status")) {
+                        throw new IllegalArgumentException("Тип и статус должны быть заданы.");
+                    }
+                    total.put("totalDuration", taskManager.getTotalDuration(TaskType.valueOf(query.get("type")),
+                            TaskStatus.valueOf(query.get("status"))));
+                } catch (IllegalArgumentException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
+                sendText(exchange, gson.toJson(total), HttpStatusCode.OK);
+                break;
+
+            default:
+                new HttpTaskServer.UnknownPathHandler().handle(exchange);
+        }
+    }
+}
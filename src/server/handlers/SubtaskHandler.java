@@ -5,13 +5,16 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exceptions.NotFoundException;
 import exceptions.TaskIntersectionException;
+import exceptions.VersionConflictException;
 import taskmanagers.TaskManager;
 import server.HttpTaskServer;
 import tasks.Subtask;
+import tasks.TaskStatus;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
 
 public class SubtaskHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager taskManager;
@@ -32,7 +35,21 @@ public class SubtaskHandler extends BaseHttpHandler implements HttpHandler {
 
         switch (endpoint) {
             case GET_SUBTASKS:
-                List<Subtask> subtasks = taskManager.getSubtasksList();
+                Collection<Subtask> subtasks;
+                try {
+                    Map<String, String> query = parseQuery(exchange);
+                    if (query.containsKey("status")) {
+                        subtasks = taskManager.getSubtasksByStatus(TaskStatus.valueOf(query.get("status")));
+                    } else if (isPageRequest(query)) {
+                        subtasks = taskManager.getSubtasksPage(parseAfter(query), parseLimit(query));
+                    } else {
+                        subtasks = taskManager.getSubtasksView();
+                    }
+                } catch (IllegalArgumentException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
                 if (subtasks.isEmpty()) {
                     sendIfEmptyList(exchange);
                     return;
@@ -64,10 +81,6 @@ public class SubtaskHandler extends BaseHttpHandler implements HttpHandler {
             case DELETE_SUBTASK:
                 try {
                     int idForDelete = extractIdFromPath(path);
-                    if (taskManager.getSubtask(idForDelete) == null) {
-                        sendNotFound(exchange);
-                        return;
-                    }
                     taskManager.deleteSubtask(idForDelete);
                     sendText(exchange, "Подзадача с Id: " + idForDelete + " успешно удалена", HttpStatusCode.NO_CONTENT);
 
@@ -82,6 +95,14 @@ public class SubtaskHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void createOrUpdateSubtask(HttpExchange exchange) throws IOException {
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(exchange);
+        } catch (NumberFormatException exception) {
+            sendText(exchange, "Ошибка: некорректный заголовок If-Match", HttpStatusCode.BAD_REQUEST);
+            return;
+        }
+
         Subtask newSubtask;
         try {
             newSubtask = gson.fromJson(requestBody, Subtask.class);
@@ -104,37 +125,34 @@ public class SubtaskHandler extends BaseHttpHandler implements HttpHandler {
             return;
         }
 
-        if (taskManager.getEpicsList().isEmpty()) {
+        if (taskManager.getEpicsView().isEmpty()) {
             sendText(exchange, "Ошибка: Список эпиков пуст", HttpStatusCode.BAD_REQUEST);
             return;
         }
 
-        Subtask finalNewSubtask = newSubtask;
-        if (newSubtask.getEpicID() <= 0 || taskManager.getEpicsList().stream()
-                .filter(epic -> epic.getID() == finalNewSubtask.getEpicID()).findFirst().isEmpty()) {
+        if (newSubtask.getEpicID() <= 0 || !taskManager.containsEpic(newSubtask.getEpicID())) {
             sendText(exchange, "Ошибка: неверный Id эпика", HttpStatusCode.BAD_REQUEST);
             return;
         }
 
-        if (newSubtask.getID() > 0 && taskManager.getSubtasksList().isEmpty()) {
+        if (newSubtask.getID() > 0 && taskManager.getSubtasksView().isEmpty()) {
             sendText(exchange, "Ошибка: Список подзадач пуст", HttpStatusCode.BAD_REQUEST);
             return;
         }
 
         try {
             if (newSubtask.getID() == -1) {
-                taskManager.addSubtask(newSubtask);
-                int newSubtaskId = taskManager.getSubtasksList().getLast().getID();
+                int newSubtaskId = taskManager.addSubtask(newSubtask);
                 sendText(exchange, "Подзадача с Id: " + newSubtaskId + " успешно создана", HttpStatusCode.CREATED);
                 return;
             }
 
-            List<Subtask> list = taskManager.getSubtasksList().stream()
-                    .filter(subtask -> subtask.getID() == finalNewSubtask.getID())
-                    .toList();
-
-            if (!list.isEmpty()) {
-                taskManager.updateSubtask(newSubtask);
+            if (taskManager.containsSubtask(newSubtask.getID())) {
+                if (expectedVersion != null) {
+                    taskManager.updateSubtask(newSubtask, expectedVersion);
+                } else {
+                    taskManager.updateSubtask(newSubtask);
+                }
                 sendText(exchange, "Подзадача с Id: " + newSubtask.getID() + " успешно обновлена", HttpStatusCode.CREATED);
             } else {
                 sendNotFound(exchange);
@@ -142,6 +160,8 @@ public class SubtaskHandler extends BaseHttpHandler implements HttpHandler {
 
         } catch (TaskIntersectionException exception) {
             sendHasInteractions(exchange);
+        } catch (VersionConflictException exception) {
+            sendConflict(exchange, exception.getMessage());
         } catch (Exception exception) {
             sendText(exchange, "Ошибка: неизвестная ошибка при добавлении подзадачи", HttpStatusCode.INTERNAL_SERVER_ERROR);
         }
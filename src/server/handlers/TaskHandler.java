@@ -5,13 +5,16 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exceptions.NotFoundException;
 import exceptions.TaskIntersectionException;
+import exceptions.VersionConflictException;
 import taskmanagers.TaskManager;
 import server.HttpTaskServer;
 import tasks.Task;
+import tasks.TaskStatus;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
 
 public class TaskHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager taskManager;
@@ -32,7 +35,21 @@ public class TaskHandler extends BaseHttpHandler implements HttpHandler {
 
         switch (endpoint) {
             case GET_TASKS:
-                List<Task> tasks = taskManager.getTasksList();
+                Collection<Task> tasks;
+                try {
+                    Map<String, String> query = parseQuery(exchange);
+                    if (query.containsKey("status")) {
+                        tasks = taskManager.getTasksByStatus(TaskStatus.valueOf(query.get("status")));
+                    } else if (isPageRequest(query)) {
+                        tasks = taskManager.getTasksPage(parseAfter(query), parseLimit(query));
+                    } else {
+                        tasks = taskManager.getTasksView();
+                    }
+                } catch (IllegalArgumentException exception) {
+                    sendBadQuery(exchange);
+                    return;
+                }
+
                 if (tasks.isEmpty()) {
                     sendIfEmptyList(exchange);
                     return;
@@ -64,10 +81,6 @@ public class TaskHandler extends BaseHttpHandler implements HttpHandler {
             case DELETE_TASK:
                 try {
                     int idForDelete = extractIdFromPath(path);
-                    if (taskManager.getTask(idForDelete) == null) {
-                        sendNotFound(exchange);
-                        return;
-                    }
                     taskManager.deleteTask(idForDelete);
                     sendText(exchange, "Задача с Id: " + idForDelete + " успешно удалена", HttpStatusCode.NO_CONTENT);
 
@@ -82,6 +95,14 @@ public class TaskHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void createOrUpdateTask(HttpExchange exchange) throws IOException {
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(exchange);
+        } catch (NumberFormatException exception) {
+            sendText(exchange, "Ошибка: некорректный заголовок If-Match", HttpStatusCode.BAD_REQUEST);
+            return;
+        }
+
         Task newTask;
         try {
             newTask = gson.fromJson(requestBody, Task.class);
@@ -103,26 +124,24 @@ public class TaskHandler extends BaseHttpHandler implements HttpHandler {
             return;
         }
 
-        if (newTask.getID() > 0 && taskManager.getTasksList().isEmpty()) {
+        if (newTask.getID() > 0 && taskManager.getTasksView().isEmpty()) {
             sendText(exchange, "Ошибка: Список задач пуст", HttpStatusCode.BAD_REQUEST);
             return;
         }
 
         try {
             if (newTask.getID() == -1) {
-                taskManager.addTask(newTask);
-                int newTaskId = taskManager.getTasksList().getLast().getID();
+                int newTaskId = taskManager.addTask(newTask);
                 sendText(exchange, "Задача с Id: " + newTaskId + " успешно создана", HttpStatusCode.CREATED);
                 return;
             }
 
-            Task finalNewTask = newTask;
-            List<Task> list = taskManager.getTasksList().stream()
-                    .filter(task -> task.getID() == finalNewTask.getID())
-                    .toList();
-
-            if (!list.isEmpty()) {
-                taskManager.updateTask(newTask);
+            if (taskManager.containsTask(newTask.getID())) {
+                if (expectedVersion != null) {
+                    taskManager.updateTask(newTask, expectedVersion);
+                } else {
+                    taskManager.updateTask(newTask);
+                }
                 sendText(exchange, "Задача с Id: " + newTask.getID() + " успешно обновлена", HttpStatusCode.CREATED);
             } else {
                 sendNotFound(exchange);
@@ -130,6 +149,8 @@ public class TaskHandler extends BaseHttpHandler implements HttpHandler {
 
         } catch (TaskIntersectionException exception) {
             sendHasInteractions(exchange);
+        } catch (VersionConflictException exception) {
+            sendConflict(exchange, exception.getMessage());
         } catch (Exception exception) {
             sendText(exchange, "Ошибка: неизвестная ошибка при добавлении задачи", HttpStatusCode.INTERNAL_SERVER_ERROR);
         }
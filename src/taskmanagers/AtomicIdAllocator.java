@@ -0,0 +1,17 @@
+package taskmanagers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AtomicIdAllocator implements IdAllocator {
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    @Override
+    public int nextId() {
+        return nextId.getAndIncrement();
+    }
+
+    @Override
+    public void observe(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+}
@@ -0,0 +1,112 @@
+package taskmanagers;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BlockIdAllocator implements IdAllocator {
+
+    public interface BlockSource {
+        int reserve(int blockSize, int notBelow);
+    }
+
+    private final BlockSource source;
+    private final int blockSize;
+    private final AtomicInteger observedFloor = new AtomicInteger(1);
+    private final ThreadLocal<Block> blocks = new ThreadLocal<>();
+    private final Queue<Block> heldBlocks = new ConcurrentLinkedQueue<>();
+
+    public BlockIdAllocator(int blockSize) {
+        this(new MemoryBlockSource(), blockSize);
+    }
+
+    public BlockIdAllocator(BlockSource source, int blockSize) {
+        if (source == null) {
+            throw new NullPointerException("Источник блоков не задан.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Размер блока должен быть положительным.");
+        }
+        this.source = source;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public int nextId() {
+        Block block = blocks.get();
+        int floor = observedFloor.get();
+        if (block == null || block.next >= block.end || block.next < floor) {
+            block = refill(block, floor);
+        }
+
+        return block.next++;
+    }
+
+    @Override
+    public void observe(int id) {
+        observedFloor.accumulateAndGet(id + 1, Math::max);
+    }
+
+    private Block refill(Block exhausted, int floor) {
+        if (exhausted != null) {
+            heldBlocks.remove(exhausted);
+        }
+
+        Block block = adoptAbandoned(floor);
+        if (block == null) {
+            int start;
+            synchronized (source) {
+                start = source.reserve(blockSize, floor);
+            }
+            block = new Block(Thread.currentThread(), start, start + blockSize);
+            heldBlocks.add(block);
+        }
+
+        blocks.set(block);
+        return block;
+    }
+
+    private Block adoptAbandoned(int floor) {
+        Thread current = Thread.currentThread();
+        Iterator<Block> iterator = heldBlocks.iterator();
+        while (iterator.hasNext()) {
+            Block block = iterator.next();
+            Thread owner = block.owner.get();
+            if (owner.isAlive() || !block.owner.compareAndSet(owner, current)) {
+                continue;
+            }
+
+            if (block.next >= floor && block.next < block.end) {
+                return block;
+            }
+            iterator.remove();
+        }
+
+        return null;
+    }
+
+    private static class Block {
+        private final AtomicReference<Thread> owner;
+        private final int end;
+        private int next;
+
+        Block(Thread owner, int next, int end) {
+            this.owner = new AtomicReference<>(owner);
+            this.next = next;
+            this.end = end;
+        }
+    }
+
+    private static class MemoryBlockSource implements BlockSource {
+        private int next = 1;
+
+        @Override
+        public int reserve(int blockSize, int notBelow) {
+            int start = Math.max(next, notBelow);
+            next = start + blockSize;
+            return start;
+        }
+    }
+}
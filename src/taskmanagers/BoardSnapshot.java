@@ -0,0 +1,399 @@
+package taskmanagers;
+
+import exceptions.NotFoundException;
+import taskmanagers.PersistentTaskTree.Order;
+import tasks.Epic;
+import tasks.EpochTime;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+final class BoardSnapshot {
+
+    private final PersistentTaskTree<Task> tasks;
+    private final PersistentTaskTree<Epic> epics;
+    private final PersistentTaskTree<Subtask> subtasks;
+    private final PersistentTaskTree<Task> prioritized;
+    private final PersistentTaskTree<Subtask> epicMembers;
+    private final PersistentTaskTree<Task> taskStatuses;
+    private final PersistentTaskTree<Epic> epicStatuses;
+    private final PersistentTaskTree<Subtask> subtaskStatuses;
+
+    private BoardSnapshot(Delta delta) {
+        this.tasks = delta.tasks;
+        this.epics = delta.epics;
+        this.subtasks = delta.subtasks;
+        this.prioritized = delta.prioritized;
+        this.epicMembers = delta.epicMembers;
+        this.taskStatuses = delta.taskStatuses;
+        this.epicStatuses = delta.epicStatuses;
+        this.subtaskStatuses = delta.subtaskStatuses;
+    }
+
+    static BoardSnapshot of(TaskManager manager) {
+        Delta delta = new Delta(null);
+        for (Task task : manager.getTasksView()) {
+            delta.tasks = delta.tasks.with(task);
+            delta.taskStatuses = delta.taskStatuses.with(task);
+        }
+        for (Subtask subtask : manager.getSubtasksView()) {
+            delta.subtasks = delta.subtasks.with(subtask);
+            delta.subtaskStatuses = delta.subtaskStatuses.with(subtask);
+        }
+        for (Epic epic : manager.getEpicsView()) {
+            Epic header = Epic.headerOf(epic);
+            delta.epics = delta.epics.with(header);
+            delta.epicStatuses = delta.epicStatuses.with(header);
+            for (int i = 0; i < epic.getSubtasksCount(); i++) {
+                Subtask subtask = delta.subtasks.get(epic.getSubtaskID(i));
+                if (subtask != null) {
+                    delta.epicMembers = delta.epicMembers.with(subtask, epic.getID(), subtask.getID());
+                }
+            }
+        }
+        for (Task task : manager.getPrioritizedTasks()) {
+            delta.prioritized = delta.prioritized.with(task);
+        }
+
+        return new BoardSnapshot(delta);
+    }
+
+    BoardSnapshot apply(List<TaskEvent> events) {
+        if (events.isEmpty()) {
+            return this;
+        }
+
+        Delta delta = new Delta(this);
+        for (TaskEvent event : events) {
+            delta.apply(event);
+        }
+        return new BoardSnapshot(delta);
+    }
+
+    List<Task> tasks() {
+        return tasks.toList();
+    }
+
+    List<Epic> epics() {
+        return withMembers(epics.toList());
+    }
+
+    List<Subtask> subtasks() {
+        return subtasks.toList();
+    }
+
+    Collection<Task> tasksView() {
+        return tasks.view();
+    }
+
+    Collection<Epic> epicsView() {
+        Collection<Epic> headers = epics.view();
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Epic> iterator() {
+                Iterator<Epic> iterator = headers.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Epic next() {
+                        return withMembers(iterator.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return headers.size();
+            }
+        };
+    }
+
+    Collection<Subtask> subtasksView() {
+        return subtasks.view();
+    }
+
+    List<Task> prioritized() {
+        return prioritized.toList();
+    }
+
+    boolean containsTask(int id) {
+        return tasks.get(id) != null;
+    }
+
+    boolean containsEpic(int id) {
+        return epics.get(id) != null;
+    }
+
+    boolean containsSubtask(int id) {
+        return subtasks.get(id) != null;
+    }
+
+    Task task(int id) {
+        return found(tasks.get(id), id);
+    }
+
+    Epic epic(int id) {
+        return withMembers(found(epics.get(id), id));
+    }
+
+    Subtask subtask(int id) {
+        return found(subtasks.get(id), id);
+    }
+
+    List<Task> tasksByStatus(TaskStatus status) {
+        return byStatus(taskStatuses, status);
+    }
+
+    List<Epic> epicsByStatus(TaskStatus status) {
+        return withMembers(byStatus(epicStatuses, status));
+    }
+
+    List<Subtask> subtasksByStatus(TaskStatus status) {
+        return byStatus(subtaskStatuses, status);
+    }
+
+    List<Subtask> epicSubtasks(int id) {
+        List<Subtask> epicSubtasks = new ArrayList<>();
+        if (epics.get(id) == null) {
+            return epicSubtasks;
+        }
+
+        epicMembers.forEachWithKey(id, member -> {
+            Subtask subtask = subtasks.get(member.getID());
+            if (subtask != null) {
+                epicSubtasks.add(subtask);
+            }
+        });
+        return epicSubtasks;
+    }
+
+    List<Task> tasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return tasks.page(afterId, 0, false, limit);
+    }
+
+    List<Epic> epicsPage(int afterId, int limit) {
+        checkLimit(limit);
+        return withMembers(epics.page(afterId, 0, false, limit));
+    }
+
+    List<Subtask> subtasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return subtasks.page(afterId, 0, false, limit);
+    }
+
+    List<Task> prioritizedPage(int afterId, int limit) {
+        checkLimit(limit);
+        if (afterId <= 0) {
+            return prioritized.page(Long.MIN_VALUE, Integer.MIN_VALUE, true, limit);
+        }
+
+        Task afterTask = tasks.get(afterId);
+        if (afterTask == null) {
+            afterTask = subtasks.get(afterId);
+        }
+        if (afterTask == null || afterTask.getStartEpochNanos() == EpochTime.NONE) {
+            throw new NotFoundException("Задача с id " + afterId + " отсутствует в списке приоритетов.");
+        }
+
+        return prioritized.page(afterTask.getStartEpochNanos(), afterId, false, limit);
+    }
+
+    List<Task> prioritizedRange(LocalDateTime from, LocalDateTime to, int limit) {
+        InMemoryTaskManager.checkRange(from, to);
+        checkLimit(limit);
+        List<Task> result = new ArrayList<>();
+        prioritized.collect(EpochTime.clamp(from), EpochTime.clamp(to), limit, result);
+        return result;
+    }
+
+    List<Task> prioritizedAfter(LocalDateTime instant, int limit) {
+        checkLimit(limit);
+        if (instant == null) {
+            throw new IllegalArgumentException("Момент времени не задан.");
+        }
+
+        return prioritized.page(EpochTime.clamp(instant), Integer.MIN_VALUE, true, limit);
+    }
+
+    LocalDateTime findFreeSlot(Duration duration, LocalDateTime notBefore) {
+        InMemoryTaskManager.checkSlotRequest(duration, notBefore);
+        long length = EpochTime.clamp(duration);
+        long from = EpochTime.clamp(notBefore);
+        long[] candidate = {Math.max(prioritized.maxEndBefore(from), from)};
+
+        prioritized.forEachFrom(from, Integer.MIN_VALUE, true, task -> {
+            if (TaskIntervalTree.fits(candidate[0], length, task.getStartEpochNanos())) {
+                return false;
+            }
+            candidate[0] = Math.max(candidate[0], TaskIntervalTree.endOf(task));
+            return true;
+        });
+
+        return TaskIntervalTree.slotAt(candidate[0], from, notBefore);
+    }
+
+    private Epic withMembers(Epic header) {
+        Epic epic = Epic.headerOf(header);
+        epicMembers.forEachWithKey(epic.getID(), member -> epic.addSubtaskID(member.getID()));
+        return epic;
+    }
+
+    private List<Epic> withMembers(List<Epic> headers) {
+        List<Epic> result = new ArrayList<>(headers.size());
+        for (Epic header : headers) {
+            result.add(withMembers(header));
+        }
+        return result;
+    }
+
+    private static <T extends Task> T found(T task, int id) {
+        if (task == null) {
+            throw new NotFoundException("Задача с id " + id + " не найдена.");
+        }
+        return task;
+    }
+
+    private static <T extends Task> List<T> byStatus(PersistentTaskTree<T> statuses, TaskStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Статус не задан.");
+        }
+
+        List<T> result = new ArrayList<>();
+        statuses.forEachWithKey(status.ordinal(), result::add);
+        return result;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным.");
+        }
+    }
+
+    private static final class Delta {
+        private PersistentTaskTree<Task> tasks;
+        private PersistentTaskTree<Epic> epics;
+        private PersistentTaskTree<Subtask> subtasks;
+        private PersistentTaskTree<Task> prioritized;
+        private PersistentTaskTree<Subtask> epicMembers;
+        private PersistentTaskTree<Task> taskStatuses;
+        private PersistentTaskTree<Epic> epicStatuses;
+        private PersistentTaskTree<Subtask> subtaskStatuses;
+
+        Delta(BoardSnapshot base) {
+            if (base == null) {
+                tasks = PersistentTaskTree.empty(Order.BY_ID);
+                epics = PersistentTaskTree.empty(Order.BY_ID);
+                subtasks = PersistentTaskTree.empty(Order.BY_ID);
+                prioritized = PersistentTaskTree.empty(Order.BY_START);
+                epicMembers = PersistentTaskTree.empty(Order.BY_EPIC);
+                taskStatuses = PersistentTaskTree.empty(Order.BY_STATUS);
+                epicStatuses = PersistentTaskTree.empty(Order.BY_STATUS);
+                subtaskStatuses = PersistentTaskTree.empty(Order.BY_STATUS);
+                return;
+            }
+
+            tasks = base.tasks;
+            epics = base.epics;
+            subtasks = base.subtasks;
+            prioritized = base.prioritized;
+            epicMembers = base.epicMembers;
+            taskStatuses = base.taskStatuses;
+            epicStatuses = base.epicStatuses;
+            subtaskStatuses = base.subtaskStatuses;
+        }
+
+        void apply(TaskEvent event) {
+            switch (event.getTaskType()) {
+                case TASK -> applyTask(event);
+                case EPIC -> applyEpic(event);
+                case SUBTASK -> applySubtask(event);
+            }
+        }
+
+        private void applyTask(TaskEvent event) {
+            Task oldTask = event.getOldValue();
+            Task newTask = event.getNewValue();
+
+            if (oldTask != null) {
+                prioritized = prioritized.without(oldTask);
+                taskStatuses = taskStatuses.without(oldTask);
+            }
+            if (newTask == null) {
+                tasks = tasks.without(oldTask);
+                return;
+            }
+
+            tasks = tasks.with(newTask);
+            taskStatuses = taskStatuses.with(newTask);
+            if (newTask.getStartEpochNanos() != EpochTime.NONE) {
+                prioritized = prioritized.with(newTask);
+            }
+        }
+
+        private void applyEpic(TaskEvent event) {
+            Epic oldEpic = (Epic) event.getOldValue();
+            Epic newEpic = (Epic) event.getNewValue();
+
+            if (oldEpic != null) {
+                epicStatuses = epicStatuses.without(oldEpic);
+            }
+            if (newEpic == null) {
+                epics = epics.without(oldEpic);
+                return;
+            }
+
+            Epic header = Epic.headerOf(newEpic);
+            epics = epics.with(header);
+            epicStatuses = epicStatuses.with(header);
+        }
+
+        private void applySubtask(TaskEvent event) {
+            Subtask oldSubtask = (Subtask) event.getOldValue();
+            Subtask newSubtask = (Subtask) event.getNewValue();
+
+            if (oldSubtask != null) {
+                prioritized = prioritized.without(oldSubtask);
+                subtaskStatuses = subtaskStatuses.without(oldSubtask);
+            }
+            if (newSubtask != null) {
+                subtasks = subtasks.with(newSubtask);
+                subtaskStatuses = subtaskStatuses.with(newSubtask);
+            }
+
+            switch (event.getKind()) {
+                case ADDED -> {
+                    if (newSubtask.getEndEpochNanos() != EpochTime.NONE) {
+                        prioritized = prioritized.with(newSubtask);
+                    }
+                    epicMembers = epicMembers.with(newSubtask);
+                }
+                case UPDATED -> {
+                    if (newSubtask.getStartEpochNanos() != EpochTime.NONE) {
+                        prioritized = prioritized.with(newSubtask);
+                    }
+                    if (oldSubtask.getEpicID() != newSubtask.getEpicID()
+                            && epics.get(newSubtask.getEpicID()) != null) {
+                        epicMembers = epicMembers.without(oldSubtask).with(newSubtask);
+                    }
+                }
+                case DELETED -> {
+                    subtasks = subtasks.without(oldSubtask);
+                    epicMembers = epicMembers.without(oldSubtask);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package taskmanagers;
+
+import com.google.gson.annotations.Expose;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public final class BoardStats {
+
+    public static final class EpicProgress {
+        @Expose
+        private final int epicId;
+        @Expose
+        private final int subtasks;
+        @Expose
+        private final int doneSubtasks;
+        @Expose
+        private final int percentDone;
+
+        EpicProgress(int epicId, int subtasks, int doneSubtasks) {
+            this.epicId = epicId;
+            this.subtasks = subtasks;
+            this.doneSubtasks = doneSubtasks;
+            this.percentDone = subtasks == 0 ? 0 : doneSubtasks * 100 / subtasks;
+        }
+
+        public int getEpicId() {
+            return epicId;
+        }
+
+        public int getSubtasks() {
+            return subtasks;
+        }
+
+        public int getDoneSubtasks() {
+            return doneSubtasks;
+        }
+
+        public int getPercentDone() {
+            return percentDone;
+        }
+    }
+
+    @Expose
+    private final Map<TaskType, Map<TaskStatus, Integer>> counts;
+    @Expose
+    private final Duration scheduledDuration;
+    @Expose
+    private final List<EpicProgress> epics;
+
+    BoardStats(Map<TaskType, Map<TaskStatus, Integer>> counts, Duration scheduledDuration,
+               List<EpicProgress> epics) {
+        this.counts = counts;
+        this.scheduledDuration = scheduledDuration;
+        this.epics = Collections.unmodifiableList(epics);
+    }
+
+    static BoardStats combine(List<BoardStats> parts) {
+        Map<TaskType, Map<TaskStatus, Integer>> counts = new EnumMap<>(TaskType.class);
+        Duration scheduledDuration = Duration.ZERO;
+        List<EpicProgress> epics = new ArrayList<>();
+
+        for (BoardStats part : parts) {
+            part.counts.forEach((type, byStatus) -> byStatus.forEach((status, count) ->
+                    counts.computeIfAbsent(type, key -> new EnumMap<>(TaskStatus.class))
+                            .merge(status, count, Integer::sum)));
+            scheduledDuration = scheduledDuration.plus(part.scheduledDuration);
+            epics.addAll(part.epics);
+        }
+
+        epics.sort(Comparator.comparingInt(EpicProgress::getEpicId));
+        return new BoardStats(counts, scheduledDuration, epics);
+    }
+
+    public int getCount(TaskType type, TaskStatus status) {
+        Map<TaskStatus, Integer> byStatus = counts.get(type);
+        return byStatus == null ? 0 : byStatus.getOrDefault(status, 0);
+    }
+
+    public int getTotal(TaskType type) {
+        Map<TaskStatus, Integer> byStatus = counts.get(type);
+        return byStatus == null ? 0 : byStatus.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public Duration getScheduledDuration() {
+        return scheduledDuration;
+    }
+
+    public List<EpicProgress> getEpics() {
+        return epics;
+    }
+}
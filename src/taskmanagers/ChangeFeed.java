@@ -0,0 +1,40 @@
+package taskmanagers;
+
+import taskmanagers.TaskEvent.Kind;
+import tasks.Task;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class ChangeFeed {
+
+    private final List<TaskEventListener> listeners = new CopyOnWriteArrayList<>();
+    private long sequence;
+
+    void addListener(TaskEventListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("Слушатель изменений не задан.");
+        }
+        listeners.add(listener);
+    }
+
+    void removeListener(TaskEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    boolean isActive() {
+        return !listeners.isEmpty();
+    }
+
+    synchronized void publish(Kind kind, Task oldValue, Task newValue) {
+        TaskEvent event = new TaskEvent(++sequence, kind, oldValue, newValue);
+        for (TaskEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException exception) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+            }
+        }
+    }
+}
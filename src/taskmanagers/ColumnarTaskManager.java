@@ -0,0 +1,56 @@
+package taskmanagers;
+
+import tasks.EpochTime;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class ColumnarTaskManager extends InMemoryTaskManager {
+
+    private final TaskColumns columns = new TaskColumns();
+
+    private ColumnarTaskManager(IdAllocator idAllocator) {
+        super(idAllocator);
+    }
+
+    public static ColumnarTaskManager create() {
+        return create(new AtomicIdAllocator());
+    }
+
+    public static ColumnarTaskManager create(IdAllocator idAllocator) {
+        ColumnarTaskManager manager = new ColumnarTaskManager(idAllocator);
+        manager.addListener(manager.columns);
+        return manager;
+    }
+
+    public Map<TaskStatus, Integer> countByStatus(TaskType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Тип задачи не задан.");
+        }
+        int[] counts = columns.countByStatus(type);
+        Map<TaskStatus, Integer> result = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            result.put(status, counts[status.ordinal()]);
+        }
+        return result;
+    }
+
+    @Override
+    public Duration getTotalDuration(TaskType type, TaskStatus status) {
+        checkTotalRequest(type, status);
+        return Duration.ofNanos(columns.totalDuration(type, status));
+    }
+
+    public List<Integer> findIdsInWindow(LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        int[] ids = columns.idsInWindow(EpochTime.clamp(from), EpochTime.clamp(to)).toArray();
+        Arrays.sort(ids);
+        return Arrays.stream(ids).boxed().toList();
+    }
+}
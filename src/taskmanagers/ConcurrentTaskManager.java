@@ -0,0 +1,365 @@
+package taskmanagers;
+
+import exceptions.TaskIntersectionException;
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class ConcurrentTaskManager implements TaskManager {
+
+    protected final TaskManager delegate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ConcurrentTaskManager(TaskManager delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("Менеджер задач не задан.");
+        }
+        this.delegate = delegate;
+    }
+
+    protected <R> R read(Supplier<R> operation) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    protected <R> R write(Supplier<R> operation) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    protected void write(Runnable operation) {
+        write(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    static List<Epic> copyEpics(Collection<Epic> epics) {
+        List<Epic> copies = new ArrayList<>(epics.size());
+        for (Epic epic : epics) {
+            copies.add(new Epic(epic));
+        }
+        return copies;
+    }
+
+    static List<Task> copyHistory(List<Task> history) {
+        List<Task> copies = new ArrayList<>(history.size());
+        for (Task task : history) {
+            copies.add(task instanceof Epic epic ? new Epic(epic) : task);
+        }
+        return copies;
+    }
+
+    @Override
+    public List<Task> getTasksList() {
+        return read(delegate::getTasksList);
+    }
+
+    @Override
+    public List<Epic> getEpicsList() {
+        return read(() -> copyEpics(delegate.getEpicsList()));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksList() {
+        return read(delegate::getSubtasksList);
+    }
+
+    @Override
+    public Collection<Task> getTasksView() {
+        return read(() -> List.copyOf(delegate.getTasksView()));
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return read(() -> copyEpics(delegate.getEpicsView()));
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return read(() -> List.copyOf(delegate.getSubtasksView()));
+    }
+
+    @Override
+    public boolean containsTask(int id) {
+        return read(() -> delegate.containsTask(id));
+    }
+
+    @Override
+    public boolean containsEpic(int id) {
+        return read(() -> delegate.containsEpic(id));
+    }
+
+    @Override
+    public boolean containsSubtask(int id) {
+        return read(() -> delegate.containsSubtask(id));
+    }
+
+    @Override
+    public void clearTasksList() {
+        write(delegate::clearTasksList);
+    }
+
+    @Override
+    public void clearEpicsList() {
+        write(delegate::clearEpicsList);
+    }
+
+    @Override
+    public void clearSubtasksList() {
+        write(delegate::clearSubtasksList);
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return read(() -> delegate.getTask(id));
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return read(() -> new Epic(delegate.getEpic(id)));
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        return read(() -> delegate.getSubtask(id));
+    }
+
+    @Override
+    public int addTask(Task task) throws TaskIntersectionException {
+        return write(() -> delegate.addTask(task));
+    }
+
+    @Override
+    public int addEpic(Epic epic) {
+        return write(() -> delegate.addEpic(epic));
+    }
+
+    @Override
+    public int addSubtask(Subtask subtask) {
+        return write(() -> delegate.addSubtask(subtask));
+    }
+
+    @Override
+    public List<Integer> addTasks(Collection<Task> tasks) {
+        return write(() -> delegate.addTasks(tasks));
+    }
+
+    @Override
+    public List<Integer> addEpics(Collection<Epic> epics) {
+        return write(() -> delegate.addEpics(epics));
+    }
+
+    @Override
+    public List<Integer> addSubtasks(Collection<Subtask> subtasks) {
+        return write(() -> delegate.addSubtasks(subtasks));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        write(() -> delegate.updateTask(task));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        write(() -> delegate.updateEpic(epic));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        write(() -> delegate.updateSubtask(subtask));
+    }
+
+    @Override
+    public void updateTask(Task task, long expectedVersion) {
+        write(() -> delegate.updateTask(task, expectedVersion));
+    }
+
+    @Override
+    public void updateEpic(Epic epic, long expectedVersion) {
+        write(() -> delegate.updateEpic(epic, expectedVersion));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask, long expectedVersion) {
+        write(() -> delegate.updateSubtask(subtask, expectedVersion));
+    }
+
+    @Override
+    public void updateTasks(Collection<Task> tasks) {
+        write(() -> delegate.updateTasks(tasks));
+    }
+
+    @Override
+    public void updateSubtasks(Collection<Subtask> subtasks) {
+        write(() -> delegate.updateSubtasks(subtasks));
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        write(() -> delegate.deleteTask(id));
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        write(() -> delegate.deleteEpic(id));
+    }
+
+    @Override
+    public void deleteSubtask(int id) {
+        write(() -> delegate.deleteSubtask(id));
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> ids) {
+        write(() -> delegate.deleteTasks(ids));
+    }
+
+    @Override
+    public void deleteSubtasks(Collection<Integer> ids) {
+        write(() -> delegate.deleteSubtasks(ids));
+    }
+
+    @Override
+    public void executeInTransaction(Consumer<TaskManager> operations) {
+        write(() -> delegate.executeInTransaction(manager -> operations.accept(this)));
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasksList(int id) {
+        return read(() -> delegate.getEpicSubtasksList(id));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return read(() -> copyHistory(delegate.getHistory()));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(delegate::getPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return read(() -> delegate.getPrioritizedTasks(from, to));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return read(() -> delegate.getPrioritizedTasks(from, to, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(LocalDateTime instant, int limit) {
+        return read(() -> delegate.getPrioritizedTasksAfter(instant, limit));
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime notBefore) {
+        return read(() -> delegate.findFreeSlot(duration, notBefore));
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return read(() -> delegate.getTasksPage(afterId, limit));
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        return read(() -> copyEpics(delegate.getEpicsPage(afterId, limit)));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return read(() -> delegate.getSubtasksPage(afterId, limit));
+    }
+
+    @Override
+    public List<Task> getHistoryPage(int afterId, int limit) {
+        return read(() -> copyHistory(delegate.getHistoryPage(afterId, limit)));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(int afterId, int limit) {
+        return read(() -> delegate.getPrioritizedTasksPage(afterId, limit));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return read(() -> delegate.getTasksByStatus(status));
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return read(() -> copyEpics(delegate.getEpicsByStatus(status)));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return read(() -> delegate.getSubtasksByStatus(status));
+    }
+
+    @Override
+    public List<Task> searchTasks(String query) {
+        return read(() -> copyHistory(delegate.searchTasks(query)));
+    }
+
+    @Override
+    public BoardStats getStats() {
+        return read(delegate::getStats);
+    }
+
+    @Override
+    public Duration getTotalDuration(TaskType type, TaskStatus status) {
+        return read(() -> delegate.getTotalDuration(type, status));
+    }
+
+    @Override
+    public int archiveDoneTasks(Duration minAge) {
+        return write(() -> delegate.archiveDoneTasks(minAge));
+    }
+
+    @Override
+    public Task getArchivedTask(int id) {
+        return read(() -> delegate.getArchivedTask(id));
+    }
+
+    @Override
+    public List<Task> getArchivedTasksPage(int afterId, int limit) {
+        return read(() -> delegate.getArchivedTasksPage(afterId, limit));
+    }
+
+    @Override
+    public void addListener(TaskEventListener listener) {
+        delegate.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(TaskEventListener listener) {
+        delegate.removeListener(listener);
+    }
+}
@@ -0,0 +1,74 @@
+package taskmanagers;
+
+import tasks.Epic;
+import tasks.EpochTime;
+import tasks.Subtask;
+import tasks.TaskStatus;
+
+class EpicAggregate {
+    private int subtasksCount;
+    private int newCount;
+    private int doneCount;
+    private long totalDuration;
+    private final LongMultiset startTimes = new LongMultiset();
+    private final LongMultiset endTimes = new LongMultiset();
+
+    void add(Subtask subtask) {
+        subtasksCount++;
+        if (subtask.getStatus() == TaskStatus.NEW) {
+            newCount++;
+        } else if (subtask.getStatus() == TaskStatus.DONE) {
+            doneCount++;
+        }
+
+        if (hasTime(subtask)) {
+            totalDuration += subtask.getDurationNanos();
+            startTimes.add(subtask.getStartEpochNanos());
+            endTimes.add(subtask.getEndEpochNanos());
+        }
+    }
+
+    void remove(Subtask subtask) {
+        subtasksCount--;
+        if (subtask.getStatus() == TaskStatus.NEW) {
+            newCount--;
+        } else if (subtask.getStatus() == TaskStatus.DONE) {
+            doneCount--;
+        }
+
+        if (hasTime(subtask)) {
+            totalDuration -= subtask.getDurationNanos();
+            startTimes.remove(subtask.getStartEpochNanos());
+            endTimes.remove(subtask.getEndEpochNanos());
+        }
+    }
+
+    int getSubtasksCount() {
+        return subtasksCount;
+    }
+
+    int getDoneCount() {
+        return doneCount;
+    }
+
+    TaskStatus getStatus() {
+        if (subtasksCount == newCount) {
+            return TaskStatus.NEW;
+        } else if (subtasksCount == doneCount) {
+            return TaskStatus.DONE;
+        }
+
+        return TaskStatus.IN_PROGRESS;
+    }
+
+    void applyTo(Epic epic) {
+        epic.setStatus(getStatus());
+        epic.setStartEpochNanos(startTimes.isEmpty() ? EpochTime.NONE : startTimes.min());
+        epic.setDurationNanos(totalDuration);
+        epic.setEndEpochNanos(endTimes.isEmpty() ? EpochTime.NONE : endTimes.max());
+    }
+
+    private static boolean hasTime(Subtask subtask) {
+        return subtask.getStartEpochNanos() != EpochTime.NONE && subtask.getDurationNanos() != EpochTime.NONE;
+    }
+}
@@ -9,14 +9,24 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class FileBackedTaskManager extends InMemoryTaskManager {
     private static final String SAVE_DIR = "src";
     private static final String SAVE_FILE = "save.csv";
+    private static final String HEADER = "id,type,name,status,description,epic,start_time,duration,version";
     private final File saveFile;
+    private boolean archiveChanged;
 
     public FileBackedTaskManager(Path savePath) {
-        super();
+        this(savePath, new AtomicIdAllocator());
+    }
+
+    public FileBackedTaskManager(Path savePath, IdAllocator idAllocator) {
+        super(idAllocator);
         try {
             if (savePath == null || !Files.exists(savePath)) {
                 Path dir = Paths.get(SAVE_DIR);
@@ -36,28 +46,34 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         }
     }
 
-    private FileBackedTaskManager(File saveFile) {
-        super();
+    private FileBackedTaskManager(File saveFile, IdAllocator idAllocator) {
+        super(idAllocator);
         this.saveFile = saveFile;
     }
 
     private void save() {
+        if (isInTransaction()) {
+            return;
+        }
+
+        if (archiveChanged) {
+            saveArchive();
+            archiveChanged = false;
+        }
+
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(saveFile))) {
-            writer.write("id,type,name,status,description,epic,start_time,duration");
+            writer.write(HEADER);
             writer.newLine();
             for (Task task : getTasksList()) {
-                writer.write(task.toString());
-                writer.newLine();
+                writeRecord(writer, task);
             }
 
             for (Epic epic : getEpicsList()) {
-                writer.write(epic.toString());
-                writer.newLine();
+                writeRecord(writer, epic);
             }
 
             for (Subtask subtask : getSubtasksList()) {
-                writer.write(subtask.toString());
-                writer.newLine();
+                writeRecord(writer, subtask);
             }
 
         } catch (IOException exception) {
@@ -65,12 +81,43 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         }
     }
 
+    private void saveArchive() {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(archiveFileFor(saveFile)))) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Task task : archivedTasks()) {
+                writeRecord(writer, task);
+            }
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Ошибка при сохранении архива в файл.", exception);
+        }
+    }
+
+    private static void writeRecord(BufferedWriter writer, Task task) throws IOException {
+        writer.write(task.toString());
+        writer.write(",");
+        writer.write(Long.toString(task.getVersion()));
+        writer.newLine();
+    }
+
+    static File archiveFileFor(File saveFile) {
+        return new File(saveFile.getPath() + ".archive");
+    }
+
     public static FileBackedTaskManager loadFromFile(File file) {
+        return loadFromFile(file, new AtomicIdAllocator());
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file, IdAllocator idAllocator) {
         if (file == null) {
             throw new NullPointerException("Файл не существует.");
         } else {
 
-            FileBackedTaskManager fileBackedTaskManager = new FileBackedTaskManager(file);
+            FileBackedTaskManager fileBackedTaskManager = new FileBackedTaskManager(file, idAllocator);
+
+            List<Task> loadedTasks = new ArrayList<>();
+            List<Epic> loadedEpics = new ArrayList<>();
+            List<Subtask> loadedSubtasks = new ArrayList<>();
 
             try (BufferedReader bufferedReader = new BufferedReader(new FileReader(file))) {
                 bufferedReader.readLine();
@@ -85,9 +132,9 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
                                 System.out.println("Ошибка. Задача пустая");
                                 return null;
                             }
-                            case Epic epic -> fileBackedTaskManager.addEpic(epic);
-                            case Subtask subtask -> fileBackedTaskManager.addSubtask(subtask);
-                            default -> fileBackedTaskManager.addTask(task);
+                            case Epic epic -> loadedEpics.add(epic);
+                            case Subtask subtask -> loadedSubtasks.add(subtask);
+                            default -> loadedTasks.add(task);
                         }
                     }
                 }
@@ -96,10 +143,51 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
                 throw new RuntimeException("Ошибка при загрузке данных из файла", exception);
             }
 
+            fileBackedTaskManager.loadArchive();
+            fileBackedTaskManager.restoreBoard(loadedTasks, loadedEpics, loadedSubtasks);
+
             return fileBackedTaskManager;
         }
     }
 
+    private void restoreBoard(List<Task> loadedTasks, List<Epic> loadedEpics, List<Subtask> loadedSubtasks) {
+        super.addTasks(loadedTasks);
+        super.addEpics(loadedEpics);
+        super.addSubtasks(loadedSubtasks);
+
+        for (Task task : loadedTasks) {
+            tasks.get(task.getID()).setVersion(task.getVersion());
+        }
+        for (Epic epic : loadedEpics) {
+            epics.get(epic.getID()).setVersion(epic.getVersion());
+        }
+        for (Subtask subtask : loadedSubtasks) {
+            Subtask storedSubtask = subtasks.get(subtask.getID());
+            if (storedSubtask != null) {
+                storedSubtask.setVersion(subtask.getVersion());
+            }
+        }
+    }
+
+    private void loadArchive() {
+        File archiveFile = archiveFileFor(saveFile);
+        if (!archiveFile.exists()) {
+            return;
+        }
+
+        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(archiveFile))) {
+            bufferedReader.readLine();
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    restoreArchivedTask(parseTask(line.trim().split(",")));
+                }
+            }
+        } catch (IOException exception) {
+            throw new RuntimeException("Ошибка при загрузке архива из файла", exception);
+        }
+    }
+
     private Task fromString(String value) {
         String[] fields = value.split(",");
         TaskType tasksTypes = TaskType.valueOf(fields[1]);
@@ -118,7 +206,9 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         String description = fields[4];
         LocalDateTime startTime = LocalDateTime.parse(fields[5]);
         Duration duration = Duration.parse(fields[6]);
-        return new Task(id, name, description, status, startTime, duration);
+        Task task = new Task(id, name, description, status, startTime, duration);
+        task.setVersion(parseVersion(fields, 7));
+        return task;
     }
 
     private Epic parseEpic(String[] fields) {
@@ -128,6 +218,7 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         String description = fields[4];
         Epic epic = new Epic(id, name, description);
         epic.setStatus(status);
+        epic.setVersion(parseVersion(fields, 7));
         return epic;
     }
 
@@ -139,25 +230,55 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         int idEpic = Integer.parseInt(fields[5]);
         LocalDateTime startTime = LocalDateTime.parse(fields[6]);
         Duration duration = Duration.parse(fields[7]);
-        return new Subtask(id, idEpic, name, description, status, startTime, duration);
+        Subtask subtask = new Subtask(id, idEpic, name, description, status, startTime, duration);
+        subtask.setVersion(parseVersion(fields, 8));
+        return subtask;
+    }
+
+    private static long parseVersion(String[] fields, int index) {
+        return fields.length > index ? Long.parseLong(fields[index]) : 1;
     }
 
     @Override
-    public void addTask(Task task) {
-        super.addTask(task);
+    public int addTask(Task task) {
+        int taskId = super.addTask(task);
         save();
+        return taskId;
     }
 
     @Override
-    public void addEpic(Epic epic) {
-        super.addEpic(epic);
+    public int addEpic(Epic epic) {
+        int epicId = super.addEpic(epic);
         save();
+        return epicId;
     }
 
     @Override
-    public void addSubtask(Subtask subtask) {
-        super.addSubtask(subtask);
+    public int addSubtask(Subtask subtask) {
+        int subtaskId = super.addSubtask(subtask);
         save();
+        return subtaskId;
+    }
+
+    @Override
+    public List<Integer> addTasks(Collection<Task> tasks) {
+        List<Integer> ids = super.addTasks(tasks);
+        save();
+        return ids;
+    }
+
+    @Override
+    public List<Integer> addEpics(Collection<Epic> epics) {
+        List<Integer> ids = super.addEpics(epics);
+        save();
+        return ids;
+    }
+
+    @Override
+    public List<Integer> addSubtasks(Collection<Subtask> subtasks) {
+        List<Integer> ids = super.addSubtasks(subtasks);
+        save();
+        return ids;
     }
 
     @Override
@@ -197,6 +318,18 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         save();
     }
 
+    @Override
+    public void deleteTasks(Collection<Integer> ids) {
+        super.deleteTasks(ids);
+        save();
+    }
+
+    @Override
+    public void deleteSubtasks(Collection<Integer> ids) {
+        super.deleteSubtasks(ids);
+        save();
+    }
+
     @Override
     public void updateTask(Task task) {
         super.updateTask(task);
@@ -214,4 +347,32 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         super.updateSubtask(subtask);
         save();
     }
+
+    @Override
+    public void updateTasks(Collection<Task> tasks) {
+        super.updateTasks(tasks);
+        save();
+    }
+
+    @Override
+    public void updateSubtasks(Collection<Subtask> subtasks) {
+        super.updateSubtasks(subtasks);
+        save();
+    }
+
+    @Override
+    public int archiveDoneTasks(Duration minAge) {
+        int archived = super.archiveDoneTasks(minAge);
+        if (archived > 0) {
+            archiveChanged = true;
+            save();
+        }
+        return archived;
+    }
+
+    @Override
+    public void executeInTransaction(Consumer<TaskManager> operations) {
+        super.executeInTransaction(operations);
+        save();
+    }
 }
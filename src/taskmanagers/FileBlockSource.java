@@ -0,0 +1,57 @@
+package taskmanagers;
+
+import exceptions.ManagerSaveException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class FileBlockSource implements BlockIdAllocator.BlockSource {
+    private final Path path;
+
+    public FileBlockSource(Path path) {
+        if (path == null) {
+            throw new NullPointerException("Файл идентификаторов не задан.");
+        }
+        this.path = path;
+    }
+
+    public static Path nextTo(Path saveFile) {
+        return saveFile.resolveSibling(saveFile.getFileName() + ".ids");
+    }
+
+    @Override
+    public int reserve(int blockSize, int notBelow) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                int start = Math.max(readNext(channel), notBelow);
+                writeNext(channel, start + blockSize);
+                return start;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException | NumberFormatException exception) {
+            throw new ManagerSaveException("Ошибка при резервировании идентификаторов.", exception);
+        }
+    }
+
+    private static int readNext(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        channel.read(buffer, 0);
+        String value = new String(buffer.array(), StandardCharsets.UTF_8).trim();
+        return value.isEmpty() ? 1 : Integer.parseInt(value);
+    }
+
+    private static void writeNext(FileChannel channel, int next) throws IOException {
+        byte[] bytes = Integer.toString(next).getBytes(StandardCharsets.UTF_8);
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap(bytes), 0);
+        channel.force(true);
+    }
+}
@@ -1,5 +1,6 @@
 package taskmanagers;
 
+import tasks.IntIdSet;
 import tasks.Task;
 
 import java.util.List;
@@ -10,6 +11,10 @@ public interface HistoryManager {
 
     void remove(int id);
 
+    void remove(IntIdSet ids);
+
     List<Task> getHistory();
 
+    List<Task> getHistory(int afterId, int limit);
+
 }
@@ -0,0 +1,7 @@
+package taskmanagers;
+
+public interface IdAllocator {
+    int nextId();
+
+    void observe(int id);
+}
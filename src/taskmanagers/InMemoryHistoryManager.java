@@ -1,9 +1,12 @@
 package taskmanagers;
 
+import exceptions.NotFoundException;
+import tasks.IntIdSet;
 import tasks.Task;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class InMemoryHistoryManager implements HistoryManager {
@@ -21,10 +24,21 @@ public class InMemoryHistoryManager implements HistoryManager {
     }
 
     private final Map<Integer, Node> taskNodeMap = new HashMap<>();
+    private final int capacity;
 
     private Node head;
     private Node tail;
 
+    public InMemoryHistoryManager() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public InMemoryHistoryManager(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ёмкость истории должна быть положительной.");
+        }
+        this.capacity = capacity;
+    }
 
     private Node linkLast(Task task) {
         final Node oldTail = tail;
@@ -58,7 +72,7 @@ public class InMemoryHistoryManager implements HistoryManager {
     }
 
     private ArrayList<Task> getTasks() {
-        ArrayList<Task> tasks = new ArrayList<>();
+        ArrayList<Task> tasks = new ArrayList<>(taskNodeMap.size());
         Node currentNode = head;
 
         while (currentNode != null) {
@@ -76,6 +90,27 @@ public class InMemoryHistoryManager implements HistoryManager {
         return getTasks();
     }
 
+    @Override
+    public List<Task> getHistory(int afterId, int limit) {
+        Node currentNode = head;
+
+        if (afterId > 0) {
+            Node afterNode = taskNodeMap.get(afterId);
+            if (afterNode == null) {
+                throw new NotFoundException("Задача с id " + afterId + " отсутствует в истории.");
+            }
+            currentNode = afterNode.next;
+        }
+
+        List<Task> page = new ArrayList<>();
+        while (currentNode != null && page.size() < limit) {
+            page.add(currentNode.item);
+            currentNode = currentNode.next;
+        }
+
+        return page;
+    }
+
     @Override
     public void add(Task task) {
         if (task == null) {
@@ -86,6 +121,16 @@ public class InMemoryHistoryManager implements HistoryManager {
         remove(task.getID());
         Node newNode = linkLast(task);
         taskNodeMap.put(task.getID(), newNode);
+
+        if (taskNodeMap.size() > capacity) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        Node oldest = head;
+        removeNode(oldest);
+        taskNodeMap.remove(oldest.item.getID());
     }
 
     @Override
@@ -99,4 +144,13 @@ public class InMemoryHistoryManager implements HistoryManager {
         taskNodeMap.remove(id);
     }
 
+    @Override
+    public void remove(IntIdSet ids) {
+        if (taskNodeMap.isEmpty()) {
+            return;
+        }
+
+        ids.forEach(this::remove);
+    }
+
 }
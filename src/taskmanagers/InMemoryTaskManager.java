@@ -2,26 +2,72 @@ package taskmanagers;
 
 import exceptions.NotFoundException;
 import exceptions.TaskIntersectionException;
+import exceptions.VersionConflictException;
+import taskmanagers.TaskEvent.Kind;
 import tasks.*;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class InMemoryTaskManager implements TaskManager {
 
-    protected final Map<Integer, Task> tasks;
-    protected final Map<Integer, Epic> epics;
-    protected final Map<Integer, Subtask> subtasks;
-    private final Set<Task> prioritizedTasks = new TreeSet<>(taskComparator);
-    protected final HistoryManager historyManager = Managers.getDefaultHistory();
-    protected int idCount = 1;
+    protected final TaskStore<Task> tasks;
+    protected final IntObjectMap<Epic> epics;
+    protected final TaskStore<Subtask> subtasks;
+    private final Collection<Task> tasksView;
+    private final Collection<Epic> epicsView;
+    private final Collection<Subtask> subtasksView;
+    private final TaskIntervalTree timeline = new TaskIntervalTree();
+    private final IntObjectMap<EpicAggregate> epicAggregates = new IntObjectMap<>();
+    private final StatusIndex taskStatuses = new StatusIndex();
+    private final StatusIndex epicStatuses = new StatusIndex();
+    private final StatusIndex subtaskStatuses = new StatusIndex();
+    private final TextIndex textIndex = new TextIndex();
+    private final IntLongMap doneSince = new IntLongMap();
+    private TaskStore<Task> archive;
+    private Clock clock = Clock.systemDefaultZone();
+    private long scheduledNanos;
+    protected final HistoryManager historyManager;
+    protected final IdAllocator idAllocator;
+    private final ChangeFeed changeFeed;
+    private TaskTransaction transaction;
 
     public InMemoryTaskManager() {
-        tasks = new HashMap<>();
-        epics = new HashMap<>();
-        subtasks = new HashMap<>();
+        this(new AtomicIdAllocator());
+    }
+
+    public InMemoryTaskManager(IdAllocator idAllocator) {
+        this(idAllocator, new SynchronizedHistoryManager(Managers.getDefaultHistory()));
+    }
+
+    public InMemoryTaskManager(IdAllocator idAllocator, HistoryManager historyManager) {
+        this(idAllocator, historyManager, new ChangeFeed());
+    }
+
+    InMemoryTaskManager(IdAllocator idAllocator, HistoryManager historyManager, ChangeFeed changeFeed) {
+        this(idAllocator, historyManager, changeFeed, new IntObjectMap<>(), new IntObjectMap<>());
+    }
+
+    InMemoryTaskManager(IdAllocator idAllocator, HistoryManager historyManager, ChangeFeed changeFeed,
+                        TaskStore<Task> tasks, TaskStore<Subtask> subtasks) {
+        if (idAllocator == null) {
+            throw new NullPointerException("Генератор идентификаторов не задан.");
+        }
+        if (historyManager == null) {
+            throw new NullPointerException("Менеджер истории не задан.");
+        }
+        this.idAllocator = idAllocator;
+        this.historyManager = historyManager;
+        this.changeFeed = changeFeed;
+        this.tasks = tasks;
+        this.epics = new IntObjectMap<>();
+        this.subtasks = subtasks;
+        tasksView = Collections.unmodifiableCollection(tasks.values());
+        epicsView = Collections.unmodifiableCollection(epics.values());
+        subtasksView = Collections.unmodifiableCollection(subtasks.values());
     }
 
     @Override
@@ -39,36 +85,70 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(subtasks.values());
     }
 
+    @Override
+    public Collection<Task> getTasksView() {
+        return tasksView;
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return epicsView;
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return subtasksView;
+    }
+
+    @Override
+    public boolean containsTask(int id) {
+        return tasks.containsKey(id);
+    }
+
+    @Override
+    public boolean containsEpic(int id) {
+        return epics.containsKey(id);
+    }
+
+    @Override
+    public boolean containsSubtask(int id) {
+        return subtasks.containsKey(id);
+    }
+
     @Override
     public void clearTasksList() {
-        for (Task task : tasks.values()) {
-            historyManager.remove(task.getID());
-            removePrioritizedTask(task);
+        IntIdSet forgottenIds = new IntIdSet();
+        for (Task task : List.copyOf(tasks.values())) {
+            forgottenIds.add(task.getID());
+            detachTask(task);
         }
-        tasks.clear();
+        forgetHistory(forgottenIds);
     }
 
     @Override
     public void clearEpicsList() {
-        clearSubtasksList();
+        IntIdSet epicIds = new IntIdSet();
         for (Epic epic : epics.values()) {
-            historyManager.remove(epic.getID());
+            epicIds.add(epic.getID());
+        }
+
+        IntIdSet forgottenIds = detachAllSubtasks(epicIds, List.copyOf(subtasks.values()));
+        for (Epic epic : List.copyOf(epics.values())) {
+            forgottenIds.add(epic.getID());
+            detachEpic(epic);
         }
-        epics.clear();
+        forgetHistory(forgottenIds);
     }
 
     @Override
     public void clearSubtasksList() {
-        for (Epic epic : epics.values()) {
-            for (Integer subtaskId : epic.getSubtasksID()) {
-                epic.deleteSubtaskID(subtaskId);
-                historyManager.remove(subtaskId);
-                removePrioritizedTask(subtasks.get(subtaskId));
-            }
-            updateEpicParams(epic.getID());
+        IntIdSet epicIds = new IntIdSet();
+        for (Subtask subtask : subtasks.values()) {
+            epicIds.add(subtask.getEpicID());
         }
 
-        subtasks.clear();
+        forgetHistory(detachAllSubtasks(epicIds, List.copyOf(subtasks.values())));
+        refreshEpics(epicIds);
     }
 
     @Override
@@ -106,78 +186,80 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
     @Override
-    public void addTask(Task task) {
+    public int addTask(Task task) {
         if (isIntersectionTasks(task)) {
-            throw new TaskIntersectionException(
-                    "Задача \"" + task.getName() + "\" пересекается по времени с другой задачей!");
-        }
-
-        int taskId;
-        if (task.getID() < 0) {
-            taskId = idCount++;
-        } else {
-            taskId = task.getID();
-        }
-
-        task = new Task(taskId, task.getName(), task.getDescription(),
-                task.getStatus(), task.getStartTime(), task.getDuration());
-
-
-        if (task.getStartTime() != null) {
-            addToPrioritizedTasks(task);
+            throw intersectionOf(task);
         }
 
-        tasks.put(taskId, task);
+        return insertTask(task);
     }
 
     @Override
-    public void addEpic(Epic epic) {
-        int epicId;
-        if (epic.getID() < 0) {
-            epicId = idCount++;
-        } else {
-            epicId = epic.getID();
-        }
-        epic = new Epic(epicId, epic.getName(), epic.getDescription());
-        epics.put(epicId, epic);
+    public int addEpic(Epic epic) {
+        return insertEpic(epic);
     }
 
     @Override
-    public void addSubtask(Subtask subtask) {
+    public int addSubtask(Subtask subtask) {
         if (isIntersectionTasks(subtask)) {
-            throw new TaskIntersectionException(
-                    "Задача \"" + subtask.getName() + "\" пересекается по времени с другой задачей!");
+            throw intersectionOf(subtask);
         }
 
-        Epic epic = epics.get(subtask.getEpicID());
+        Epic epic = epicOf(subtask);
         if (epic == null) {
-            return;
+            return -1;
         }
 
-        if (epic.getID() == subtask.getID()) {
-            return;
-        }
+        int subtaskId = insertSubtask(subtask, epic);
+        refreshEpic(epic);
+        return subtaskId;
+    }
 
-        if (subtask.getEpicID() == subtask.getID()) {
-            return;
+    @Override
+    public List<Integer> addTasks(Collection<Task> newTasks) {
+        List<Task> batch = new ArrayList<>(newTasks);
+        checkIntersections(batch);
+
+        List<Integer> ids = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            ids.add(insertTask(task));
         }
+        return ids;
+    }
 
-        int subtaskId;
-        if (subtask.getID() < 0) {
-            subtaskId = idCount++;
-        } else {
-            subtaskId = subtask.getID();
+    @Override
+    public List<Integer> addEpics(Collection<Epic> newEpics) {
+        List<Integer> ids = new ArrayList<>(newEpics.size());
+        for (Epic epic : newEpics) {
+            ids.add(insertEpic(epic));
         }
-        subtask = new Subtask(subtaskId, subtask.getEpicID(), subtask.getName(), subtask.getDescription(),
-                subtask.getStatus(), subtask.getStartTime(), subtask.getDuration());
+        return ids;
+    }
 
-        subtasks.put(subtaskId, subtask);
-        epic.addSubtaskID(subtaskId);
-        updateEpicParams(epic.getID());
+    @Override
+    public List<Integer> addSubtasks(Collection<Subtask> newSubtasks) {
+        List<Subtask> accepted = new ArrayList<>(newSubtasks.size());
+        for (Subtask subtask : newSubtasks) {
+            if (epicOf(subtask) != null) {
+                accepted.add(subtask);
+            }
+        }
+        checkIntersections(accepted);
+
+        List<Integer> ids = new ArrayList<>(newSubtasks.size());
+        IntIdSet touchedEpics = new IntIdSet();
+        for (Subtask subtask : newSubtasks) {
+            Epic epic = epicOf(subtask);
+            if (epic == null) {
+                ids.add(-1);
+                continue;
+            }
 
-        if (subtask.getEndTime() != null) {
-            addToPrioritizedTasks(subtask);
+            ids.add(insertSubtask(subtask, epic));
+            touchedEpics.add(epic.getID());
         }
+        refreshEpics(touchedEpics);
+        return ids;
     }
 
     @Override
@@ -188,13 +270,11 @@ public class InMemoryTaskManager implements TaskManager {
         }
 
         if (isIntersectionTasks(newTask)) {
-            throw new TaskIntersectionException(
-                    "Задача \"" + newTask.getName() + "\" пересекается по времени с другой задачей!");
+            throw intersectionOf(newTask);
         }
 
-        removePrioritizedTask(tasks.get(newTask.getID()));
-        addToPrioritizedTasks(newTask);
-        tasks.put(newTask.getID(), newTask);
+        nextVersion(oldTask, newTask);
+        replaceTask(oldTask, newTask);
     }
 
     @Override
@@ -207,46 +287,95 @@ public class InMemoryTaskManager implements TaskManager {
         Epic updatedEpic = new Epic(newEpic.getID(), newEpic.getName(), newEpic.getDescription(),
                 oldEpic.getStatus(), oldEpic.getStartTime(), oldEpic.getDuration());
 
-        for (int subtaskId : oldEpic.getSubtasksID()) {
-            updatedEpic.addSubtaskID(subtaskId);
-        }
-
-        epics.put(oldEpic.getID(), updatedEpic);
+        oldEpic.forEachSubtaskID(updatedEpic::addSubtaskID);
+        nextVersion(oldEpic, updatedEpic);
+        replaceEpic(oldEpic, updatedEpic);
     }
 
     @Override
     public void updateSubtask(Subtask newSubtask) {
-
         Subtask oldSubtask = subtasks.get(newSubtask.getID());
         if (oldSubtask == null) {
             return;
         }
 
         if (isIntersectionTasks(newSubtask)) {
-            throw new TaskIntersectionException(
-                    "Задача \"" + newSubtask.getName() + "\" пересекается по времени с другой задачей!");
+            throw intersectionOf(newSubtask);
         }
 
-        removePrioritizedTask(oldSubtask);
-        addToPrioritizedTasks(newSubtask);
-        subtasks.put(newSubtask.getID(), newSubtask);
+        nextVersion(oldSubtask, newSubtask);
+        IntIdSet touchedEpics = new IntIdSet();
+        replaceSubtask(oldSubtask, newSubtask, touchedEpics);
+        refreshEpics(touchedEpics);
+    }
 
-        Epic epic = epics.get(newSubtask.getEpicID());
-        if (epic != null) {
-            updateEpicParams(epic.getID());
+    @Override
+    public void updateTask(Task newTask, long expectedVersion) {
+        checkVersion(tasks.get(newTask.getID()), newTask.getID(), expectedVersion);
+        updateTask(newTask);
+    }
+
+    @Override
+    public void updateEpic(Epic newEpic, long expectedVersion) {
+        checkVersion(epics.get(newEpic.getID()), newEpic.getID(), expectedVersion);
+        updateEpic(newEpic);
+    }
+
+    @Override
+    public void updateSubtask(Subtask newSubtask, long expectedVersion) {
+        checkVersion(subtasks.get(newSubtask.getID()), newSubtask.getID(), expectedVersion);
+        updateSubtask(newSubtask);
+    }
+
+    @Override
+    public void updateTasks(Collection<Task> newTasks) {
+        List<Task> batch = new ArrayList<>(newTasks.size());
+        List<Task> oldTasks = new ArrayList<>(newTasks.size());
+        for (Task task : newTasks) {
+            Task oldTask = tasks.get(task.getID());
+            if (oldTask != null) {
+                batch.add(task);
+                oldTasks.add(oldTask);
+            }
+        }
+
+        checkReplacementIntersections(oldTasks, batch);
+        for (int i = 0; i < batch.size(); i++) {
+            nextVersion(oldTasks.get(i), batch.get(i));
+            replaceTask(oldTasks.get(i), batch.get(i));
+        }
+    }
+
+    @Override
+    public void updateSubtasks(Collection<Subtask> newSubtasks) {
+        List<Subtask> batch = new ArrayList<>(newSubtasks.size());
+        List<Subtask> oldSubtasks = new ArrayList<>(newSubtasks.size());
+        for (Subtask subtask : newSubtasks) {
+            Subtask oldSubtask = subtasks.get(subtask.getID());
+            if (oldSubtask != null) {
+                batch.add(subtask);
+                oldSubtasks.add(oldSubtask);
+            }
+        }
+
+        checkReplacementIntersections(oldSubtasks, batch);
+        IntIdSet touchedEpics = new IntIdSet();
+        for (int i = 0; i < batch.size(); i++) {
+            nextVersion(oldSubtasks.get(i), batch.get(i));
+            replaceSubtask(oldSubtasks.get(i), batch.get(i), touchedEpics);
         }
+        refreshEpics(touchedEpics);
     }
 
     @Override
     public void deleteTask(int id) {
-        Task task = tasks.remove(id);
+        Task task = tasks.get(id);
 
         if (task == null) {
             throw new NotFoundException("Задача с id " + id + " не найдена.");
         }
 
-        historyManager.remove(id);
-        removePrioritizedTask(task);
+        removeTask(task);
     }
 
     @Override
@@ -257,28 +386,492 @@ public class InMemoryTaskManager implements TaskManager {
             throw new NotFoundException("Задача с id " + id + " не найдена.");
         }
 
-        epic.getSubtasksID().forEach(this::deleteSubtask);
-        historyManager.remove(id);
-        epics.remove(id);
+        IntIdSet epicIds = new IntIdSet();
+        epicIds.add(id);
+        IntIdSet forgottenIds = detachAllSubtasks(epicIds, getEpicSubtasksList(id));
+        forgottenIds.add(id);
+        detachEpic(epic);
+        forgetHistory(forgottenIds);
     }
 
     @Override
     public void deleteSubtask(int id) {
-        Subtask subtask = subtasks.remove(id);
+        Subtask subtask = subtasks.get(id);
 
         if (subtask == null) {
             throw new NotFoundException("Задача с id " + id + " не найдена.");
         }
 
+        IntIdSet touchedEpics = new IntIdSet();
+        removeSubtask(subtask, touchedEpics);
+        refreshEpics(touchedEpics);
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> ids) {
+        for (int id : ids) {
+            if (!tasks.containsKey(id)) {
+                throw new NotFoundException("Задача с id " + id + " не найдена.");
+            }
+        }
+
+        for (int id : ids) {
+            Task task = tasks.get(id);
+            if (task != null) {
+                removeTask(task);
+            }
+        }
+    }
+
+    @Override
+    public void deleteSubtasks(Collection<Integer> ids) {
+        for (int id : ids) {
+            if (!subtasks.containsKey(id)) {
+                throw new NotFoundException("Задача с id " + id + " не найдена.");
+            }
+        }
+
+        IntIdSet touchedEpics = new IntIdSet();
+        for (int id : ids) {
+            Subtask subtask = subtasks.get(id);
+            if (subtask != null) {
+                removeSubtask(subtask, touchedEpics);
+            }
+        }
+        refreshEpics(touchedEpics);
+    }
+
+    private int insertTask(Task task) {
+        int taskId = assignId(task);
+        Task storedTask = new Task(taskId, task.getName(), task.getDescription(),
+                task.getStatus(), task.getStartTime(), task.getDuration());
+        storedTask.setVersion(1);
+        attachTask(storedTask, completionOf(storedTask, EpochTime.NONE));
+        return taskId;
+    }
+
+    private int insertEpic(Epic epic) {
+        int epicId = assignId(epic);
+        Epic storedEpic = new Epic(epicId, epic.getName(), epic.getDescription());
+        storedEpic.setVersion(1);
+        attachEpic(storedEpic);
+        return epicId;
+    }
+
+    private int insertSubtask(Subtask subtask, Epic epic) {
+        int subtaskId = assignId(subtask);
+        Subtask storedSubtask = new Subtask(subtaskId, epic.getID(), subtask.getName(), subtask.getDescription(),
+                subtask.getStatus(), subtask.getStartTime(), subtask.getDuration());
+        storedSubtask.setVersion(1);
+        attachSubtask(storedSubtask);
+        return subtaskId;
+    }
+
+    private int assignId(Task task) {
+        if (task.getID() < 0) {
+            return idAllocator.nextId();
+        }
+
+        idAllocator.observe(task.getID());
+        return task.getID();
+    }
+
+    private static void nextVersion(Task oldTask, Task newTask) {
+        newTask.setVersion(oldTask.getVersion() + 1);
+    }
+
+    static void checkVersion(Task storedTask, int id, long expectedVersion) {
+        if (storedTask == null) {
+            throw new NotFoundException("Задача с id " + id + " не найдена.");
+        }
+
+        if (storedTask.getVersion() != expectedVersion) {
+            throw new VersionConflictException("Задача с id " + id + " изменена: ожидалась версия "
+                    + expectedVersion + ", текущая " + storedTask.getVersion() + ".");
+        }
+    }
+
+    private void attachTask(Task task, long completedAt) {
+        tasks.put(task.getID(), task);
+        if (completedAt != EpochTime.NONE) {
+            doneSince.put(task.getID(), completedAt);
+        }
+        addToPrioritizedTasks(task);
+        taskStatuses.add(task.getID(), task.getStatus());
+        textIndex.add(task);
+        publish(Kind.ADDED, null, task);
+        logUndo(() -> detachTask(task));
+    }
+
+    private void detachTask(Task task) {
+        tasks.remove(task.getID());
+        long completedAt = doneSince.remove(task.getID());
+        removePrioritizedTask(task);
+        taskStatuses.remove(task.getID());
+        textIndex.remove(task);
+        publish(Kind.DELETED, task, null);
+        logUndo(() -> attachTask(task, completedAt));
+    }
+
+    private void replaceTask(Task oldTask, Task newTask) {
+        replaceTask(oldTask, newTask, completionOf(newTask, doneSince.get(newTask.getID())));
+    }
+
+    private void replaceTask(Task oldTask, Task newTask, long completedAt) {
+        long previousCompletedAt = doneSince.remove(newTask.getID());
+        if (completedAt != EpochTime.NONE) {
+            doneSince.put(newTask.getID(), completedAt);
+        }
+        removePrioritizedTask(oldTask);
+        addToPrioritizedTasks(newTask);
+        tasks.put(newTask.getID(), newTask);
+        taskStatuses.remove(newTask.getID());
+        taskStatuses.add(newTask.getID(), newTask.getStatus());
+        textIndex.remove(oldTask);
+        textIndex.add(newTask);
+        publish(Kind.UPDATED, oldTask, newTask);
+        logUndo(() -> replaceTask(newTask, oldTask, previousCompletedAt));
+    }
+
+    private long completionOf(Task task, long previousCompletedAt) {
+        if (task.getStatus() != TaskStatus.DONE) {
+            return EpochTime.NONE;
+        }
+        return previousCompletedAt != EpochTime.NONE ? previousCompletedAt : EpochTime.of(LocalDateTime.now(clock));
+    }
+
+    private void removeTask(Task task) {
+        detachTask(task);
+        forgetHistory(task.getID());
+    }
+
+    private void attachEpic(Epic epic) {
+        epics.put(epic.getID(), epic);
+        epicAggregates.put(epic.getID(), new EpicAggregate());
+        epicStatuses.add(epic.getID(), epic.getStatus());
+        textIndex.add(epic);
+        publish(Kind.ADDED, null, epic);
+        logUndo(() -> detachEpic(epic));
+    }
+
+    private void detachEpic(Epic epic) {
+        epics.remove(epic.getID());
+        epicAggregates.remove(epic.getID());
+        epicStatuses.remove(epic.getID());
+        textIndex.remove(epic);
+        publish(Kind.DELETED, epic, null);
+        logUndo(() -> attachEpic(epic));
+    }
+
+    private void replaceEpic(Epic oldEpic, Epic newEpic) {
+        epics.put(newEpic.getID(), newEpic);
+        refreshEpic(newEpic);
+        textIndex.remove(oldEpic);
+        textIndex.add(newEpic);
+        publish(Kind.UPDATED, oldEpic, newEpic);
+        logUndo(() -> replaceEpic(newEpic, oldEpic));
+    }
+
+    private void attachSubtask(Subtask subtask) {
+        storeSubtask(subtask);
+        publish(Kind.ADDED, null, subtask);
+        logUndo(() -> {
+            detachSubtask(subtask);
+            refreshEpic(subtask.getEpicID());
+        });
+    }
+
+    private void detachSubtask(Subtask subtask) {
+        unstoreSubtask(subtask);
+        publish(Kind.DELETED, subtask, null);
+        logUndo(() -> {
+            attachSubtask(subtask);
+            refreshEpic(subtask.getEpicID());
+        });
+    }
+
+    void moveSubtaskIn(Subtask oldSubtask, Subtask newSubtask) {
+        if (isIntersectionTasks(newSubtask)) {
+            throw intersectionOf(newSubtask);
+        }
+
+        nextVersion(oldSubtask, newSubtask);
+        storeSubtask(newSubtask);
+        publish(Kind.UPDATED, oldSubtask, newSubtask);
+        logUndo(() -> {
+            unstoreSubtask(newSubtask);
+            refreshEpic(newSubtask.getEpicID());
+        });
+        refreshEpic(newSubtask.getEpicID());
+    }
+
+    void moveSubtaskOut(Subtask subtask) {
+        unstoreSubtask(subtask);
+        logUndo(() -> {
+            storeSubtask(subtask);
+            refreshEpic(subtask.getEpicID());
+        });
+        refreshEpic(subtask.getEpicID());
+    }
+
+    private void storeSubtask(Subtask subtask) {
+        int id = subtask.getID();
+        subtasks.put(id, subtask);
+        subtaskStatuses.add(id, subtask.getStatus());
+        textIndex.add(subtask);
+
+        Epic epic = epics.get(subtask.getEpicID());
+        if (epic != null) {
+            epic.addSubtaskID(id);
+            epicAggregates.get(epic.getID()).add(subtask);
+        }
+
+        if (subtask.getEndEpochNanos() != EpochTime.NONE) {
+            addToPrioritizedTasks(subtask);
+        }
+    }
+
+    private void unstoreSubtask(Subtask subtask) {
+        int id = subtask.getID();
+        subtasks.remove(id);
+        subtaskStatuses.remove(id);
+        textIndex.remove(subtask);
+        removePrioritizedTask(subtask);
+
         Epic epic = epics.get(subtask.getEpicID());
         if (epic != null) {
-            historyManager.remove(id);
-            removePrioritizedTask(subtask);
             epic.deleteSubtaskID(id);
-            updateEpicParams(epic.getID());
+            epicAggregates.get(epic.getID()).remove(subtask);
+        }
+    }
+
+    private IntIdSet detachAllSubtasks(IntIdSet epicIds, List<Subtask> dropped) {
+        IntIdSet droppedIds = new IntIdSet();
+        for (Subtask subtask : dropped) {
+            droppedIds.add(subtask.getID());
+            subtasks.remove(subtask.getID());
+            subtaskStatuses.remove(subtask.getID());
+            textIndex.remove(subtask);
+            publish(Kind.DELETED, subtask, null);
+        }
+
+        if (droppedIds.size() > timeline.size() / 2) {
+            for (Subtask subtask : dropped) {
+                if (subtask.getStartEpochNanos() != EpochTime.NONE && timeline.contains(subtask)) {
+                    scheduledNanos -= durationOf(subtask);
+                }
+            }
+            timeline.removeAll(droppedIds);
+        } else {
+            dropped.forEach(this::removePrioritizedTask);
+        }
+
+        for (int i = 0; i < epicIds.size(); i++) {
+            Epic epic = epics.get(epicIds.get(i));
+            if (epic != null) {
+                epic.clearSubtaskID();
+                epicAggregates.put(epic.getID(), new EpicAggregate());
+            }
+        }
+
+        logUndo(() -> {
+            dropped.forEach(this::attachSubtask);
+            refreshEpics(epicIds);
+        });
+        return droppedIds;
+    }
+
+    private void replaceSubtask(Subtask oldSubtask, Subtask newSubtask, IntIdSet touchedEpics) {
+        removePrioritizedTask(oldSubtask);
+        addToPrioritizedTasks(newSubtask);
+        subtasks.put(newSubtask.getID(), newSubtask);
+        subtaskStatuses.remove(newSubtask.getID());
+        subtaskStatuses.add(newSubtask.getID(), newSubtask.getStatus());
+        textIndex.remove(oldSubtask);
+        textIndex.add(newSubtask);
+
+        Epic oldEpic = epics.get(oldSubtask.getEpicID());
+        if (oldEpic != null) {
+            epicAggregates.get(oldEpic.getID()).remove(oldSubtask);
+            touchedEpics.add(oldEpic.getID());
         }
+
+        Epic epic = epics.get(newSubtask.getEpicID());
+        if (epic != null) {
+            if (epic != oldEpic) {
+                if (oldEpic != null) {
+                    oldEpic.deleteSubtaskID(newSubtask.getID());
+                }
+                epic.addSubtaskID(newSubtask.getID());
+            }
+            epicAggregates.get(epic.getID()).add(newSubtask);
+            touchedEpics.add(epic.getID());
+        }
+
+        publish(Kind.UPDATED, oldSubtask, newSubtask);
+        logUndo(() -> {
+            IntIdSet epicIds = new IntIdSet();
+            replaceSubtask(newSubtask, oldSubtask, epicIds);
+            refreshEpics(epicIds);
+        });
     }
 
+    private void removeSubtask(Subtask subtask, IntIdSet touchedEpics) {
+        detachSubtask(subtask);
+        forgetHistory(subtask.getID());
+        touchedEpics.add(subtask.getEpicID());
+    }
+
+    private void forgetHistory(int id) {
+        if (transaction != null) {
+            transaction.forget(id);
+        } else {
+            historyManager.remove(id);
+        }
+    }
+
+    private void publish(Kind kind, Task oldValue, Task newValue) {
+        if (!changeFeed.isActive()) {
+            return;
+        }
+
+        Task oldCopy = oldValue instanceof Epic epic ? Epic.headerOf(epic) : oldValue;
+        Task newCopy = newValue instanceof Epic epic ? Epic.headerOf(epic) : newValue;
+        if (transaction != null) {
+            transaction.afterCommit(() -> changeFeed.publish(kind, oldCopy, newCopy));
+        } else {
+            changeFeed.publish(kind, oldCopy, newCopy);
+        }
+    }
+
+    @Override
+    public void addListener(TaskEventListener listener) {
+        changeFeed.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(TaskEventListener listener) {
+        changeFeed.removeListener(listener);
+    }
+
+    private void forgetHistory(IntIdSet ids) {
+        if (transaction != null) {
+            ids.forEach(transaction::forget);
+        } else {
+            historyManager.remove(ids);
+        }
+    }
+
+    private void logUndo(Runnable action) {
+        if (transaction != null) {
+            transaction.logUndo(action);
+        }
+    }
+
+    private Epic epicOf(Subtask subtask) {
+        Epic epic = epics.get(subtask.getEpicID());
+        if (epic == null || epic.getID() == subtask.getID()) {
+            return null;
+        }
+
+        return epic;
+    }
+
+    private void refreshEpics(IntIdSet epicIds) {
+        for (int i = 0; i < epicIds.size(); i++) {
+            refreshEpic(epicIds.get(i));
+        }
+    }
+
+    private void checkIntersections(List<? extends Task> batch) {
+        TaskIntervalTree batchTimeline = new TaskIntervalTree();
+        int batchId = -2;
+
+        for (Task task : batch) {
+            if (isIntersectionTasks(task)) {
+                throw intersectionOf(task);
+            }
+
+            if (transaction != null) {
+                continue;
+            }
+
+            int id = task.getID() < 0 ? batchId-- : task.getID();
+            long end = TaskIntervalTree.endOf(task);
+            if (batchTimeline.hasIntersection(id, task.getStartEpochNanos(), end)) {
+                throw intersectionOf(task);
+            }
+            batchTimeline.add(id, task.getStartEpochNanos(), end);
+        }
+    }
+
+    private void checkReplacementIntersections(List<? extends Task> oldTasks, List<? extends Task> batch) {
+        List<Task> unscheduled = new ArrayList<>(oldTasks.size());
+        for (Task oldTask : oldTasks) {
+            if (timeline.remove(oldTask)) {
+                unscheduled.add(oldTask);
+            }
+        }
+
+        try {
+            checkIntersections(batch);
+        } finally {
+            unscheduled.forEach(timeline::add);
+        }
+    }
+
+    @Override
+    public void executeInTransaction(Consumer<TaskManager> operations) {
+        if (transaction != null) {
+            operations.accept(this);
+            return;
+        }
+
+        beginTransaction();
+        try {
+            operations.accept(this);
+            checkScheduledIntersections();
+        } catch (RuntimeException exception) {
+            rollbackTransaction();
+            throw exception;
+        }
+        commitTransaction();
+    }
+
+    protected boolean isInTransaction() {
+        return transaction != null;
+    }
+
+    void beginTransaction() {
+        transaction = new TaskTransaction();
+    }
+
+    void commitTransaction() {
+        TaskTransaction committedTransaction = transaction;
+        transaction = null;
+        historyManager.remove(committedTransaction.getForgottenIds());
+        committedTransaction.getCommitActions().forEach(Runnable::run);
+    }
+
+    void rollbackTransaction() {
+        transaction.rollback();
+        transaction = null;
+    }
+
+    private void checkScheduledIntersections() {
+        IntIdSet ids = transaction.getScheduledIds();
+        for (int i = 0; i < ids.size(); i++) {
+            Task task = scheduledTask(ids.get(i));
+            if (task != null && task.getStartEpochNanos() != EpochTime.NONE && timeline.hasIntersection(task)) {
+                throw intersectionOf(task);
+            }
+        }
+    }
+
+    static TaskIntersectionException intersectionOf(Task task) {
+        return new TaskIntersectionException(
+                "Задача \"" + task.getName() + "\" пересекается по времени с другой задачей!");
+    }
     @Override
     public List<Subtask> getEpicSubtasksList(int id) {
         Epic epic = epics.get(id);
@@ -287,10 +880,15 @@ public class InMemoryTaskManager implements TaskManager {
             return new ArrayList<>();
         }
 
-        return epic.getSubtasksID().stream()
-                .filter(subtasks::containsKey)
-                .map(subtasks::get)
-                .collect(Collectors.toList());
+        List<Subtask> epicSubtasks = new ArrayList<>(epic.getSubtasksCount());
+        for (int i = 0; i < epic.getSubtasksCount(); i++) {
+            Subtask subtask = subtasks.get(epic.getSubtaskID(i));
+            if (subtask != null) {
+                epicSubtasks.add(subtask);
+            }
+        }
+
+        return epicSubtasks;
     }
 
     @Override
@@ -299,100 +897,367 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
 
-    protected void checkEpicStatus(int id) {
-        List<TaskStatus> statuses = checkEpicSubtasksStatues(getEpicSubtasksList(id));
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return collectByStatus(taskStatuses, status, tasks);
+    }
 
-        if (statuses.size() == 1 && statuses.contains(TaskStatus.NEW) || statuses.isEmpty()) {
-            epics.get(id).setStatus(TaskStatus.NEW);
-        } else if (statuses.size() == 1 && statuses.contains(TaskStatus.DONE)) {
-            epics.get(id).setStatus(TaskStatus.DONE);
-        } else {
-            epics.get(id).setStatus(TaskStatus.IN_PROGRESS);
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return collectByStatus(epicStatuses, status, epics);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return collectByStatus(subtaskStatuses, status, subtasks);
+    }
+
+    @Override
+    public List<Task> searchTasks(String query) {
+        int[] ids = textIndex.search(query);
+        List<Task> result = new ArrayList<>(ids.length);
+
+        for (int id : ids) {
+            Task task = findAnyTask(id);
+            if (task != null) {
+                result.add(task);
+            }
         }
+
+        return result;
     }
 
-    private void updateEpicParams(int id) {
-        checkEpicStatus(epics.get(id).getID());
-        calculateEpicTimeParameters(epics.get(id));
+    private Task findAnyTask(int id) {
+        Task task = tasks.get(id);
+        if (task == null) {
+            task = subtasks.get(id);
+        }
+        if (task == null) {
+            task = epics.get(id);
+        }
+        return task;
     }
 
-    private void calculateEpicTimeParameters(Epic epic) {
-        Duration totalDuration = Duration.ZERO;
-        LocalDateTime startTime = LocalDateTime.MAX;
-        LocalDateTime endTime = LocalDateTime.MIN;
+    @Override
+    public Duration getTotalDuration(TaskType type, TaskStatus status) {
+        checkTotalRequest(type, status);
+        long total = switch (type) {
+            case TASK -> sumDurations(taskStatuses.get(status), tasks);
+            case EPIC -> sumDurations(epicStatuses.get(status), epics);
+            case SUBTASK -> sumDurations(subtaskStatuses.get(status), subtasks);
+        };
+        return Duration.ofNanos(total);
+    }
 
-        for (int subtaskId : epic.getSubtasksID()) {
-            Subtask subtask = subtasks.get(subtaskId);
-            if ((subtask.getStartTime() != null) & (subtask.getDuration() != null)) {
-                if (subtask.getStartTime().isBefore(startTime)) {
-                    startTime = subtask.getStartTime();
-                }
-                LocalDateTime subtaskEndTime = subtask.getStartTime().plus(subtask.getDuration());
-                if (subtaskEndTime.isAfter(endTime)) {
-                    endTime = subtaskEndTime;
-                }
-                totalDuration = totalDuration.plus(subtask.getDuration());
+    private static long sumDurations(IntIdSet ids, TaskStore<? extends Task> storage) {
+        long total = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            long duration = storage.get(ids.get(i)).getDurationNanos();
+            if (duration != EpochTime.NONE) {
+                total += duration;
             }
         }
+        return total;
+    }
 
-        startTime = startTime.equals(LocalDateTime.MAX) ? null : startTime;
-        endTime = endTime.equals(LocalDateTime.MIN) ? null : endTime;
+    private static <T extends Task> List<T> collectByStatus(StatusIndex index, TaskStatus status,
+                                                            TaskStore<T> storage) {
+        IntIdSet ids = index.get(status);
+        List<T> result = new ArrayList<>(ids.size());
 
-        epic.setStartTime(startTime);
-        epic.setDuration(totalDuration);
-        epic.setEndTime(endTime);
+        for (int i = 0; i < ids.size(); i++) {
+            result.add(storage.get(ids.get(i)));
+        }
+
+        return result;
     }
 
-    private List<TaskStatus> checkEpicSubtasksStatues(List<Subtask> subtasksList) {
-        ArrayList<TaskStatus> statuses = new ArrayList<>();
+    private void refreshEpic(int epicId) {
+        Epic epic = epics.get(epicId);
+        if (epic != null) {
+            refreshEpic(epic);
+        }
+    }
 
-        for (Subtask subtask : subtasksList) {
-            TaskStatus status = subtask.getStatus();
+    private void refreshEpic(Epic epic) {
+        TaskStatus status = epic.getStatus();
+        long start = epic.getStartEpochNanos();
+        long duration = epic.getDurationNanos();
+        long end = epic.getEndEpochNanos();
+        epicAggregates.get(epic.getID()).applyTo(epic);
+        epicStatuses.remove(epic.getID());
+        epicStatuses.add(epic.getID(), epic.getStatus());
+
+        if (changeFeed.isActive() && (status != epic.getStatus() || start != epic.getStartEpochNanos()
+                || duration != epic.getDurationNanos() || end != epic.getEndEpochNanos())) {
+            Epic previousEpic = Epic.headerOf(epic);
+            previousEpic.setStatus(status);
+            previousEpic.setStartEpochNanos(start);
+            previousEpic.setDurationNanos(duration);
+            previousEpic.setEndEpochNanos(end);
+            publish(Kind.UPDATED, previousEpic, epic);
+        }
+    }
 
-            if (!(statuses.contains(status))) {
-                statuses.add(status);
+    private void addToPrioritizedTasks(Task task) {
+        if (task.getStartEpochNanos() != EpochTime.NONE) {
+            timeline.add(task);
+            scheduledNanos += durationOf(task);
+            if (transaction != null) {
+                transaction.schedule(task.getID());
             }
         }
+    }
 
-        return statuses;
+    private void removePrioritizedTask(Task task) {
+        if (timeline.remove(task)) {
+            scheduledNanos -= durationOf(task);
+        }
     }
 
+    private static long durationOf(Task task) {
+        return task.getDurationNanos() != EpochTime.NONE ? task.getDurationNanos() : 0;
+    }
 
-    private void addToPrioritizedTasks(Task task) {
-        if (task.getStartTime() != null) {
-            prioritizedTasks.add(task);
+    @Override
+    public int archiveDoneTasks(Duration minAge) {
+        return archiveDoneTasks(archiveCutoff(minAge, LocalDateTime.now(clock))).size();
+    }
+
+    List<Task> archiveDoneTasks(long cutoff) {
+        IntIdSet doneIds = taskStatuses.get(TaskStatus.DONE);
+        List<Task> archived = new ArrayList<>();
+
+        for (int i = 0; i < doneIds.size(); i++) {
+            long completedAt = doneSince.get(doneIds.get(i));
+            if (completedAt != EpochTime.NONE && completedAt <= cutoff) {
+                archived.add(tasks.get(doneIds.get(i)));
+            }
+        }
+
+        for (Task task : archived) {
+            removeTask(task);
+            archive().put(task.getID(), task);
+            logUndo(() -> archive.remove(task.getID()));
         }
+
+        return archived;
     }
 
-    private void removePrioritizedTask(Task task) {
-        prioritizedTasks.remove(task);
+    static long archiveCutoff(Duration minAge, LocalDateTime now) {
+        if (minAge == null || minAge.isNegative()) {
+            throw new IllegalArgumentException("Возраст архивации должен быть неотрицательным.");
+        }
+
+        long nowNanos = EpochTime.of(now);
+        long cutoff = nowNanos - EpochTime.clamp(minAge);
+        return cutoff > nowNanos ? EpochTime.NONE : cutoff;
+    }
+
+    void setClock(Clock clock) {
+        if (clock == null) {
+            throw new NullPointerException("Часы не заданы.");
+        }
+        this.clock = clock;
+    }
+
+    @Override
+    public Task getArchivedTask(int id) {
+        Task task = archive != null ? archive.get(id) : null;
+
+        if (task == null) {
+            throw new NotFoundException("Задача с id " + id + " не найдена в архиве.");
+        }
+
+        return task;
+    }
+
+    @Override
+    public List<Task> getArchivedTasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return archive != null ? archive.valuesAfter(afterId, limit) : new ArrayList<>();
+    }
+
+    Collection<Task> archivedTasks() {
+        return archive != null ? archive.values() : List.of();
+    }
+
+    void restoreArchivedTask(Task task) {
+        idAllocator.observe(task.getID());
+        archive().put(task.getID(), task);
+    }
+
+    private TaskStore<Task> archive() {
+        if (archive == null) {
+            archive = OffHeapTaskStore.forTasks();
+        }
+        return archive;
+    }
+
+    @Override
+    public BoardStats getStats() {
+        Map<TaskType, Map<TaskStatus, Integer>> counts = new EnumMap<>(TaskType.class);
+        counts.put(TaskType.TASK, taskStatuses.counts());
+        counts.put(TaskType.EPIC, epicStatuses.counts());
+        counts.put(TaskType.SUBTASK, subtaskStatuses.counts());
+
+        List<BoardStats.EpicProgress> progress = new ArrayList<>(epics.size());
+        for (Epic epic : epics.values()) {
+            EpicAggregate aggregate = epicAggregates.get(epic.getID());
+            progress.add(new BoardStats.EpicProgress(epic.getID(), aggregate.getSubtasksCount(),
+                    aggregate.getDoneCount()));
+        }
+        progress.sort(Comparator.comparingInt(BoardStats.EpicProgress::getEpicId));
+
+        return new BoardStats(counts, Duration.ofNanos(scheduledNanos), progress);
     }
 
     public List<Task> getPrioritizedTasks() {
-        return List.copyOf(prioritizedTasks);
+        List<Task> result = new ArrayList<>(timeline.size());
+        timeline.forEach(id -> result.add(scheduledTask(id)));
+        return result;
     }
 
-    private boolean isIntersectionTasks(Task newTask) {
-        if (newTask.getStartTime() == null) {
-            return true;
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return getPrioritizedTasks(from, to, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        checkRange(from, to);
+        checkLimit(limit);
+        List<Task> result = new ArrayList<>();
+        timeline.collect(from, to, limit, id -> result.add(scheduledTask(id)));
+        return result;
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(LocalDateTime instant, int limit) {
+        checkLimit(limit);
+        if (instant == null) {
+            throw new IllegalArgumentException("Момент времени не задан.");
         }
 
-        int idAddedTask = newTask.getID();
-        return getPrioritizedTasks().stream()
-                .filter(task -> task.getID() != idAddedTask)
-                .anyMatch(prioritizedTask -> {
-                    LocalDateTime startTime = prioritizedTask.getStartTime();
-                    LocalDateTime endTime = prioritizedTask.getEndTime();
-                    return newTask.getStartTime().isBefore(endTime) &&
-                            newTask.getEndTime().isAfter(startTime);
-                });
+        List<Task> result = new ArrayList<>();
+        timeline.forEachFrom(EpochTime.clamp(instant), Integer.MIN_VALUE, true, id -> {
+            result.add(scheduledTask(id));
+            return result.size() < limit;
+        });
+        return result;
     }
 
-    private static final Comparator<Task> taskComparator = (o1, o2) -> {
-        if (!o1.getStartTime().equals(o2.getStartTime())) {
-            return o1.getStartTime().compareTo(o2.getStartTime());
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime notBefore) {
+        checkSlotRequest(duration, notBefore);
+        return timeline.findFreeSlot(duration, notBefore);
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return tasks.valuesAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        checkLimit(limit);
+        return epics.valuesAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return subtasks.valuesAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Task> getHistoryPage(int afterId, int limit) {
+        checkLimit(limit);
+        return historyManager.getHistory(afterId, limit);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        if (afterId <= 0) {
+            return prioritizedAfter(null, limit);
+        }
+
+        Task afterTask = scheduledTask(afterId);
+        if (afterTask == null || afterTask.getStartEpochNanos() == EpochTime.NONE || !timeline.contains(afterTask)) {
+            throw new NotFoundException("Задача с id " + afterId + " отсутствует в списке приоритетов.");
         }
+        return prioritizedAfter(afterTask, limit);
+    }
+
+    List<Task> prioritizedAfter(Task afterTask, int limit) {
+        List<Task> page = new ArrayList<>();
+        if (afterTask == null) {
+            timeline.forEachFrom(Long.MIN_VALUE, Integer.MIN_VALUE, true, id -> {
+                page.add(scheduledTask(id));
+                return page.size() < limit;
+            });
+        } else {
+            timeline.forEachFrom(afterTask.getStartEpochNanos(), afterTask.getID(), false, id -> {
+                page.add(scheduledTask(id));
+                return page.size() < limit;
+            });
+        }
+
+        return page;
+    }
+
+    private Task scheduledTask(int id) {
+        Task task = tasks.get(id);
+        return task != null ? task : subtasks.get(id);
+    }
 
-        return Integer.compare(o1.getID(), o2.getID());
-    };
+    static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Границы интервала не заданы.");
+        }
+
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Начало интервала позже его окончания.");
+        }
+    }
+
+    static void checkSlotRequest(Duration duration, LocalDateTime notBefore) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Длительность должна быть положительной.");
+        }
+
+        if (notBefore == null) {
+            throw new IllegalArgumentException("Момент времени не задан.");
+        }
+    }
+
+    static void checkTotalRequest(TaskType type, TaskStatus status) {
+        if (type == null) {
+            throw new IllegalArgumentException("Тип задачи не задан.");
+        }
+
+        if (status == null) {
+            throw new IllegalArgumentException("Статус не задан.");
+        }
+    }
+
+    static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным.");
+        }
+    }
+
+    private boolean isIntersectionTasks(Task newTask) {
+        if (newTask.getStartEpochNanos() == EpochTime.NONE) {
+            return true;
+        }
+
+        if (transaction != null) {
+            return false;
+        }
+
+        return timeline.hasIntersection(newTask);
+    }
 }
@@ -0,0 +1,133 @@
+package taskmanagers;
+
+import java.util.Arrays;
+
+class IntLongMap {
+    static final long ABSENT = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int threshold;
+
+    IntLongMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int key) {
+        int slot = findSlot(key);
+        return slot < 0 ? ABSENT : values[slot];
+    }
+
+    void put(int key, long value) {
+        if (value == ABSENT) {
+            throw new IllegalArgumentException("Значение совпадает с признаком отсутствия.");
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            resize(keys.length << 1);
+        }
+    }
+
+    long remove(int key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return ABSENT;
+        }
+
+        long oldValue = values[slot];
+        shiftBack(slot);
+        size--;
+        return oldValue;
+    }
+
+    void clear() {
+        Arrays.fill(values, ABSENT);
+        size = 0;
+    }
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void shiftBack(int freeSlot) {
+        int mask = keys.length - 1;
+        int slot = freeSlot;
+        values[freeSlot] = ABSENT;
+
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == ABSENT) {
+                return;
+            }
+
+            int home = hash(keys[slot]) & mask;
+            boolean canMove = freeSlot <= slot
+                    ? home <= freeSlot || home > slot
+                    : home <= freeSlot && home > slot;
+
+            if (canMove) {
+                keys[freeSlot] = keys[slot];
+                values[freeSlot] = values[slot];
+                values[slot] = ABSENT;
+                freeSlot = slot;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        Arrays.fill(values, ABSENT);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(int key) {
+        return key ^ (key >>> 16);
+    }
+}
@@ -0,0 +1,232 @@
+package taskmanagers;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+class IntObjectMap<V> implements TaskStore<V> {
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int threshold;
+    private final Collection<V> valuesView = new Values();
+    private final SortedIdIndex order = new SortedIdIndex();
+
+    IntObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    IntObjectMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return findSlot(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(int key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Значение не может быть null.");
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V oldValue = (V) values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        order.add(key);
+        if (++size > threshold) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(int key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+
+        V oldValue = (V) values[slot];
+        shiftBack(slot);
+        order.remove(key);
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+
+        Arrays.fill(values, null);
+        order.clear();
+        size = 0;
+    }
+
+    @Override
+    public Collection<V> values() {
+        return valuesView;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<V> valuesAfter(int afterKey, int limit) {
+        int[] pageKeys = order.idsAfter(afterKey, limit);
+        List<V> page = new ArrayList<>(pageKeys.length);
+        for (int key : pageKeys) {
+            page.add((V) values[findSlot(key)]);
+        }
+        return page;
+    }
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void shiftBack(int freeSlot) {
+        int mask = keys.length - 1;
+        int slot = freeSlot;
+        values[freeSlot] = null;
+
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                return;
+            }
+
+            int home = hash(keys[slot]) & mask;
+            boolean canMove = freeSlot <= slot
+                    ? home <= freeSlot || home > slot
+                    : home <= freeSlot && home > slot;
+
+            if (canMove) {
+                keys[freeSlot] = keys[slot];
+                values[freeSlot] = values[slot];
+                values[slot] = null;
+                freeSlot = slot;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(int key) {
+        return key ^ (key >>> 16);
+    }
+
+    private class Values extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<>() {
+                private int slot = nextSlot(0);
+
+                @Override
+                public boolean hasNext() {
+                    return slot < values.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    if (slot >= values.length) {
+                        throw new NoSuchElementException();
+                    }
+
+                    V value = (V) values[slot];
+                    slot = nextSlot(slot + 1);
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private int nextSlot(int from) {
+            int slot = from;
+            while (slot < values.length && values[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package taskmanagers;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+class LongMultiset {
+
+    private static final int NIL = -1;
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private int[] counts = new int[MIN_CAPACITY];
+    private int[] priorities = new int[MIN_CAPACITY];
+    private int[] lefts = new int[MIN_CAPACITY];
+    private int[] rights = new int[MIN_CAPACITY];
+    private int root = NIL;
+    private int freeNode = NIL;
+    private int allocated;
+
+    void add(long value) {
+        int node = find(value);
+        if (node != NIL) {
+            counts[node]++;
+            return;
+        }
+
+        root = insert(root, allocate(value));
+    }
+
+    void remove(long value) {
+        int node = find(value);
+        if (node == NIL) {
+            return;
+        }
+
+        if (counts[node] > 1) {
+            counts[node]--;
+            return;
+        }
+
+        root = delete(root, value);
+    }
+
+    boolean isEmpty() {
+        return root == NIL;
+    }
+
+    long min() {
+        int node = root;
+        while (lefts[node] != NIL) {
+            node = lefts[node];
+        }
+        return keys[node];
+    }
+
+    long max() {
+        int node = root;
+        while (rights[node] != NIL) {
+            node = rights[node];
+        }
+        return keys[node];
+    }
+
+    private int find(long value) {
+        int node = root;
+        while (node != NIL) {
+            int result = Long.compare(value, keys[node]);
+            if (result == 0) {
+                return node;
+            }
+            node = result < 0 ? lefts[node] : rights[node];
+        }
+        return NIL;
+    }
+
+    private int insert(int node, int newNode) {
+        if (node == NIL) {
+            return newNode;
+        }
+
+        if (keys[newNode] < keys[node]) {
+            lefts[node] = insert(lefts[node], newNode);
+            if (priorities[lefts[node]] > priorities[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            rights[node] = insert(rights[node], newNode);
+            if (priorities[rights[node]] > priorities[node]) {
+                node = rotateLeft(node);
+            }
+        }
+
+        return node;
+    }
+
+    private int delete(int node, long value) {
+        if (node == NIL) {
+            return NIL;
+        }
+
+        int result = Long.compare(value, keys[node]);
+        if (result < 0) {
+            lefts[node] = delete(lefts[node], value);
+        } else if (result > 0) {
+            rights[node] = delete(rights[node], value);
+        } else {
+            int merged = merge(lefts[node], rights[node]);
+            release(node);
+            return merged;
+        }
+
+        return node;
+    }
+
+    private int merge(int left, int right) {
+        if (left == NIL) {
+            return right;
+        }
+
+        if (right == NIL) {
+            return left;
+        }
+
+        if (priorities[left] > priorities[right]) {
+            rights[left] = merge(rights[left], right);
+            return left;
+        }
+
+        lefts[right] = merge(left, lefts[right]);
+        return right;
+    }
+
+    private int rotateRight(int node) {
+        int left = lefts[node];
+        lefts[node] = rights[left];
+        rights[left] = node;
+        return left;
+    }
+
+    private int rotateLeft(int node) {
+        int right = rights[node];
+        rights[node] = lefts[right];
+        lefts[right] = node;
+        return right;
+    }
+
+    private int allocate(long value) {
+        int node;
+        if (freeNode != NIL) {
+            node = freeNode;
+            freeNode = lefts[node];
+        } else {
+            if (allocated == keys.length) {
+                grow();
+            }
+            node = allocated++;
+        }
+
+        keys[node] = value;
+        counts[node] = 1;
+        priorities[node] = ThreadLocalRandom.current().nextInt();
+        lefts[node] = NIL;
+        rights[node] = NIL;
+        return node;
+    }
+
+    private void release(int node) {
+        lefts[node] = freeNode;
+        freeNode = node;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+    }
+}
@@ -1,12 +1,46 @@
 package taskmanagers;
 
+import java.nio.file.Path;
+
 public class Managers {
+    private static final int ID_BLOCK_SIZE = 64;
+    private static final int DEFAULT_HISTORY_CAPACITY = 10_000;
 
     public static TaskManager getDefault() {
         return new InMemoryTaskManager();
     }
 
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager(getDefault());
+    }
+
+    public static TaskManager getSnapshot() {
+        return new SnapshotTaskManager(getDefault());
+    }
+
+    public static TaskManager getSharded(int shardCount) {
+        return new ShardedTaskManager(shardCount, new BlockIdAllocator(ID_BLOCK_SIZE));
+    }
+
+    public static ColumnarTaskManager getColumnar() {
+        return ColumnarTaskManager.create();
+    }
+
+    public static TaskManager getOffHeap() {
+        return new OffHeapTaskManager();
+    }
+
+    public static TaskManager getFileBacked(Path savePath) {
+        IdAllocator idAllocator = new BlockIdAllocator(new FileBlockSource(FileBlockSource.nextTo(savePath)),
+                ID_BLOCK_SIZE);
+        return new FileBackedTaskManager(savePath, idAllocator);
+    }
+
     public static HistoryManager getDefaultHistory() {
-        return new InMemoryHistoryManager();
+        return getDefaultHistory(DEFAULT_HISTORY_CAPACITY);
+    }
+
+    public static HistoryManager getDefaultHistory(int capacity) {
+        return new InMemoryHistoryManager(capacity);
     }
 }
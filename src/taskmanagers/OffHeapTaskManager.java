@@ -0,0 +1,30 @@
+package taskmanagers;
+
+import tasks.Subtask;
+import tasks.Task;
+
+public class OffHeapTaskManager extends InMemoryTaskManager {
+
+    private final OffHeapTaskStore<Task> taskStore;
+    private final OffHeapTaskStore<Subtask> subtaskStore;
+
+    public OffHeapTaskManager() {
+        this(new AtomicIdAllocator());
+    }
+
+    public OffHeapTaskManager(IdAllocator idAllocator) {
+        this(idAllocator, OffHeapTaskStore.forTasks(), OffHeapTaskStore.forSubtasks());
+    }
+
+    private OffHeapTaskManager(IdAllocator idAllocator, OffHeapTaskStore<Task> taskStore,
+                               OffHeapTaskStore<Subtask> subtaskStore) {
+        super(idAllocator, new SynchronizedHistoryManager(Managers.getDefaultHistory()), new ChangeFeed(),
+                taskStore, subtaskStore);
+        this.taskStore = taskStore;
+        this.subtaskStore = subtaskStore;
+    }
+
+    public long getOffHeapBytes() {
+        return taskStore.reservedBytes() + subtaskStore.reservedBytes();
+    }
+}
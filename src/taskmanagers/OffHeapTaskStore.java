@@ -0,0 +1,291 @@
+package taskmanagers;
+
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+class OffHeapTaskStore<T extends Task> implements TaskStore<T> {
+
+    private static final int ID = 0;
+    private static final int STATUS = 4;
+    private static final int EPIC_ID = 8;
+    private static final int NAME_LENGTH = 12;
+    private static final int VERSION = 16;
+    private static final int START = 24;
+    private static final int DURATION = 32;
+    private static final int NAME_OFFSET = 40;
+    private static final int DESCRIPTION_OFFSET = 44;
+    private static final int DESCRIPTION_LENGTH = 48;
+    private static final int RECORD_SIZE = 56;
+    private static final int MIN_RECORDS = 64;
+    private static final int MIN_TEXT_BYTES = 4096;
+    private static final int NO_TEXT = -1;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final boolean subtaskRecords;
+    private final IntIntMap slots = new IntIntMap();
+    private final SortedIdIndex order = new SortedIdIndex();
+    private final Collection<T> valuesView = new Values();
+    private ByteBuffer records = ByteBuffer.allocateDirect(MIN_RECORDS * RECORD_SIZE);
+    private ByteBuffer text = ByteBuffer.allocateDirect(MIN_TEXT_BYTES);
+    private int textEnd;
+    private int garbageBytes;
+    private int size;
+
+    private OffHeapTaskStore(boolean subtaskRecords) {
+        this.subtaskRecords = subtaskRecords;
+    }
+
+    static OffHeapTaskStore<Task> forTasks() {
+        return new OffHeapTaskStore<>(false);
+    }
+
+    static OffHeapTaskStore<Subtask> forSubtasks() {
+        return new OffHeapTaskStore<>(true);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return slots.get(key) != IntIntMap.ABSENT;
+    }
+
+    @Override
+    public T get(int key) {
+        int slot = slots.get(key);
+        return slot == IntIntMap.ABSENT ? null : read(slot);
+    }
+
+    @Override
+    public T put(int key, T value) {
+        if (value == null) {
+            throw new NullPointerException("Значение не может быть null.");
+        }
+
+        int slot = slots.get(key);
+        T oldValue = null;
+        if (slot == IntIntMap.ABSENT) {
+            slot = size++;
+            ensureRecordCapacity(size);
+            clearText(slot);
+            slots.put(key, slot);
+            order.add(key);
+        } else {
+            oldValue = read(slot);
+            releaseText(slot);
+        }
+
+        write(slot, value);
+        return oldValue;
+    }
+
+    @Override
+    public T remove(int key) {
+        int slot = slots.remove(key);
+        if (slot == IntIntMap.ABSENT) {
+            return null;
+        }
+
+        order.remove(key);
+        T oldValue = read(slot);
+        releaseText(slot);
+        int last = --size;
+        if (slot != last) {
+            records.put(slot * RECORD_SIZE, records, last * RECORD_SIZE, RECORD_SIZE);
+            slots.put(records.getInt(slot * RECORD_SIZE + ID), slot);
+            clearText(last);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        slots.clear();
+        order.clear();
+        size = 0;
+        textEnd = 0;
+        garbageBytes = 0;
+    }
+
+    @Override
+    public Collection<T> values() {
+        return valuesView;
+    }
+
+    @Override
+    public List<T> valuesAfter(int afterKey, int limit) {
+        int[] pageKeys = order.idsAfter(afterKey, limit);
+        List<T> page = new ArrayList<>(pageKeys.length);
+        for (int key : pageKeys) {
+            page.add(read(slots.get(key)));
+        }
+        return page;
+    }
+
+    long reservedBytes() {
+        return (long) records.capacity() + text.capacity();
+    }
+
+    private void write(int slot, T task) {
+        int base = slot * RECORD_SIZE;
+        records.putInt(base + ID, task.getID());
+        records.put(base + STATUS, task.getStatus() == null ? -1 : (byte) task.getStatus().ordinal());
+        records.putInt(base + EPIC_ID, task instanceof Subtask subtask ? subtask.getEpicID() : 0);
+        records.putLong(base + VERSION, task.getVersion());
+        records.putLong(base + START, task.getStartEpochNanos());
+        records.putLong(base + DURATION, task.getDurationNanos());
+        writeText(base + NAME_OFFSET, base + NAME_LENGTH, task.getName());
+        writeText(base + DESCRIPTION_OFFSET, base + DESCRIPTION_LENGTH, task.getDescription());
+    }
+
+    @SuppressWarnings("unchecked")
+    private T read(int slot) {
+        int base = slot * RECORD_SIZE;
+        int id = records.getInt(base + ID);
+        byte status = records.get(base + STATUS);
+        String name = readText(base + NAME_OFFSET, base + NAME_LENGTH);
+        String description = readText(base + DESCRIPTION_OFFSET, base + DESCRIPTION_LENGTH);
+
+        Task task = subtaskRecords
+                ? new Subtask(id, records.getInt(base + EPIC_ID), name, description,
+                        status < 0 ? null : STATUSES[status], null, null)
+                : new Task(id, name, description, status < 0 ? null : STATUSES[status], null, null);
+        task.setStartEpochNanos(records.getLong(base + START));
+        task.setDurationNanos(records.getLong(base + DURATION));
+        task.setVersion(records.getLong(base + VERSION));
+        return (T) task;
+    }
+
+    private void writeText(int offsetField, int lengthField, String value) {
+        if (value == null) {
+            records.putInt(lengthField, NO_TEXT);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureTextCapacity(bytes.length);
+        text.put(textEnd, bytes);
+        records.putInt(offsetField, textEnd);
+        records.putInt(lengthField, bytes.length);
+        textEnd += bytes.length;
+    }
+
+    private String readText(int offsetField, int lengthField) {
+        int length = records.getInt(lengthField);
+        if (length == NO_TEXT) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        text.get(records.getInt(offsetField), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void releaseText(int slot) {
+        int base = slot * RECORD_SIZE;
+        garbageBytes += Math.max(0, records.getInt(base + NAME_LENGTH));
+        garbageBytes += Math.max(0, records.getInt(base + DESCRIPTION_LENGTH));
+        clearText(slot);
+    }
+
+    private void clearText(int slot) {
+        int base = slot * RECORD_SIZE;
+        records.putInt(base + NAME_LENGTH, NO_TEXT);
+        records.putInt(base + DESCRIPTION_LENGTH, NO_TEXT);
+    }
+
+    private void ensureRecordCapacity(int recordCount) {
+        if ((long) recordCount * RECORD_SIZE <= records.capacity()) {
+            return;
+        }
+
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.multiplyExact(records.capacity(), 2));
+        grown.put(0, records, 0, records.capacity());
+        records = grown;
+    }
+
+    private void ensureTextCapacity(int extraBytes) {
+        if (textEnd + extraBytes <= text.capacity()) {
+            return;
+        }
+
+        int liveBytes = textEnd - garbageBytes;
+        int capacity = text.capacity();
+        while (capacity < 2 * (liveBytes + extraBytes)) {
+            capacity = Math.multiplyExact(capacity, 2);
+        }
+
+        ByteBuffer compacted = ByteBuffer.allocateDirect(capacity);
+        int end = 0;
+        for (int slot = 0; slot < size; slot++) {
+            int base = slot * RECORD_SIZE;
+            end = moveText(compacted, end, base + NAME_OFFSET, base + NAME_LENGTH);
+            end = moveText(compacted, end, base + DESCRIPTION_OFFSET, base + DESCRIPTION_LENGTH);
+        }
+        text = compacted;
+        textEnd = end;
+        garbageBytes = 0;
+    }
+
+    private int moveText(ByteBuffer target, int end, int offsetField, int lengthField) {
+        int length = records.getInt(lengthField);
+        if (length == NO_TEXT) {
+            return end;
+        }
+
+        target.put(end, text, records.getInt(offsetField), length);
+        records.putInt(offsetField, end);
+        return end + length;
+    }
+
+    private class Values extends AbstractCollection<T> {
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int index = nextIndex(0);
+
+                @Override
+                public boolean hasNext() {
+                    return index < slots.capacity();
+                }
+
+                @Override
+                public T next() {
+                    if (index >= slots.capacity()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    T value = read(slots.valueAt(index));
+                    index = nextIndex(index + 1);
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private int nextIndex(int from) {
+            int index = from;
+            while (index < slots.capacity() && slots.valueAt(index) == IntIntMap.ABSENT) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
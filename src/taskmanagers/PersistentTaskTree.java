@@ -0,0 +1,308 @@
+package taskmanagers;
+
+import tasks.EpochTime;
+import tasks.Subtask;
+import tasks.Task;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+final class PersistentTaskTree<T extends Task> {
+
+    enum Order { BY_ID, BY_START, BY_STATUS, BY_EPIC }
+
+    private static final class Node<T extends Task> {
+        final T task;
+        final long key;
+        final int tie;
+        final int priority;
+        final Node<T> left;
+        final Node<T> right;
+        final int size;
+        final long maxEnd;
+
+        Node(T task, long key, int tie, int priority, Node<T> left, Node<T> right) {
+            this.task = task;
+            this.key = key;
+            this.tie = tie;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+            this.maxEnd = Math.max(TaskIntervalTree.endOf(task), Math.max(maxEndOf(left), maxEndOf(right)));
+        }
+
+        Node<T> with(Node<T> left, Node<T> right) {
+            if (left == this.left && right == this.right) {
+                return this;
+            }
+            return new Node<>(task, key, tie, priority, left, right);
+        }
+    }
+
+    private final Order order;
+    private final Node<T> root;
+
+    private PersistentTaskTree(Order order, Node<T> root) {
+        this.order = order;
+        this.root = root;
+    }
+
+    static <T extends Task> PersistentTaskTree<T> empty(Order order) {
+        return new PersistentTaskTree<>(order, null);
+    }
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    T get(int id) {
+        Node<T> node = root;
+        while (node != null) {
+            int result = Integer.compare(id, node.task.getID());
+            if (result == 0) {
+                return node.task;
+            }
+            node = result < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    PersistentTaskTree<T> with(T task) {
+        return with(task, keyOf(task), tieOf(task));
+    }
+
+    PersistentTaskTree<T> with(T task, long key, int tie) {
+        Node<T> node = new Node<>(task, key, tie, ThreadLocalRandom.current().nextInt(), null, null);
+        return new PersistentTaskTree<>(order, insert(root, node));
+    }
+
+    PersistentTaskTree<T> without(T task) {
+        return without(keyOf(task), tieOf(task));
+    }
+
+    PersistentTaskTree<T> without(long key, int tie) {
+        Node<T> newRoot = delete(root, key, tie);
+        return newRoot == root ? this : new PersistentTaskTree<>(order, newRoot);
+    }
+
+    List<T> toList() {
+        List<T> result = new ArrayList<>(size());
+        forEachFrom(Long.MIN_VALUE, Integer.MIN_VALUE, true, result::add);
+        return result;
+    }
+
+    Collection<T> view() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<T> iterator() {
+                return new Iterator<>() {
+                    private final ArrayDeque<Node<T>> path = new ArrayDeque<>();
+
+                    {
+                        pushLeft(root);
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return !path.isEmpty();
+                    }
+
+                    @Override
+                    public T next() {
+                        if (path.isEmpty()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        Node<T> node = path.pop();
+                        pushLeft(node.right);
+                        return node.task;
+                    }
+
+                    private void pushLeft(Node<T> node) {
+                        while (node != null) {
+                            path.push(node);
+                            node = node.left;
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return sizeOf(root);
+            }
+        };
+    }
+
+    List<T> page(long key, int tie, boolean inclusive, int limit) {
+        List<T> result = new ArrayList<>(Math.min(limit, size()));
+        forEachFrom(key, tie, inclusive, task -> result.add(task) && result.size() < limit);
+        return result;
+    }
+
+    void forEachFrom(long key, int tie, boolean inclusive, Predicate<T> action) {
+        forEachFrom(root, key, tie, inclusive, action);
+    }
+
+    void forEachWithKey(long key, Consumer<? super T> action) {
+        forEachWithKey(root, key, action);
+    }
+
+    void collect(long from, long to, int limit, List<? super T> result) {
+        collect(root, from, to, limit, result);
+    }
+
+    long maxEndBefore(long instant) {
+        long maxEnd = EpochTime.NONE;
+        Node<T> node = root;
+
+        while (node != null) {
+            if (node.key < instant) {
+                maxEnd = Math.max(maxEnd, Math.max(TaskIntervalTree.endOf(node.task), maxEndOf(node.left)));
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+
+        return maxEnd;
+    }
+
+    static long statusKeyOf(Task task) {
+        return task.getStatus() == null ? -1 : task.getStatus().ordinal();
+    }
+
+    private long keyOf(T task) {
+        return switch (order) {
+            case BY_ID -> task.getID();
+            case BY_START -> task.getStartEpochNanos();
+            case BY_STATUS -> statusKeyOf(task);
+            case BY_EPIC -> task instanceof Subtask subtask ? subtask.getEpicID() : 0;
+        };
+    }
+
+    private int tieOf(T task) {
+        return order == Order.BY_ID ? 0 : task.getID();
+    }
+
+    private void forEachWithKey(Node<T> node, long key, Consumer<? super T> action) {
+        while (node != null && node.key != key) {
+            node = key < node.key ? node.left : node.right;
+        }
+        if (node == null) {
+            return;
+        }
+
+        forEachWithKey(node.left, key, action);
+        action.accept(node.task);
+        forEachWithKey(node.right, key, action);
+    }
+
+    private boolean forEachFrom(Node<T> node, long key, int tie, boolean inclusive, Predicate<T> action) {
+        if (node == null) {
+            return true;
+        }
+
+        int result = compare(key, tie, node);
+        if (result < 0 || (result == 0 && inclusive)) {
+            if (!forEachFrom(node.left, key, tie, inclusive, action) || !action.test(node.task)) {
+                return false;
+            }
+        }
+
+        return forEachFrom(node.right, key, tie, inclusive, action);
+    }
+
+    private int collect(Node<T> node, long from, long to, int remaining, List<? super T> result) {
+        if (node == null || remaining == 0 || node.maxEnd < from) {
+            return remaining;
+        }
+
+        remaining = collect(node.left, from, to, remaining, result);
+
+        if (remaining == 0 || node.key >= to) {
+            return remaining;
+        }
+
+        if (TaskIntervalTree.endOf(node.task) > from || node.key >= from) {
+            result.add(node.task);
+            remaining--;
+        }
+
+        return collect(node.right, from, to, remaining, result);
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        int result = compare(newNode.key, newNode.tie, node);
+        if (result == 0) {
+            return new Node<>(newNode.task, node.key, node.tie, node.priority, node.left, node.right);
+        }
+
+        if (result < 0) {
+            Node<T> left = insert(node.left, newNode);
+            return left.priority > node.priority
+                    ? left.with(left.left, node.with(left.right, node.right))
+                    : node.with(left, node.right);
+        }
+
+        Node<T> right = insert(node.right, newNode);
+        return right.priority > node.priority
+                ? right.with(node.with(node.left, right.left), right.right)
+                : node.with(node.left, right);
+    }
+
+    private Node<T> delete(Node<T> node, long key, int tie) {
+        if (node == null) {
+            return null;
+        }
+
+        int result = compare(key, tie, node);
+        if (result < 0) {
+            return node.with(delete(node.left, key, tie), node.right);
+        }
+        if (result > 0) {
+            return node.with(node.left, delete(node.right, key, tie));
+        }
+
+        return merge(node.left, node.right);
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        return left.priority > right.priority
+                ? left.with(left.left, merge(left.right, right))
+                : right.with(merge(left, right.left), right.right);
+    }
+
+    private static int compare(long key, int tie, Node<?> node) {
+        int result = Long.compare(key, node.key);
+        return result != 0 ? result : Integer.compare(tie, node.tie);
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static long maxEndOf(Node<?> node) {
+        return node == null ? EpochTime.NONE : node.maxEnd;
+    }
+}
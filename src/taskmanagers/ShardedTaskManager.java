@@ -0,0 +1,840 @@
+package taskmanagers;
+
+import exceptions.NotFoundException;
+import exceptions.TaskIntersectionException;
+import tasks.Epic;
+import tasks.EpochTime;
+import tasks.IntIdSet;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public class ShardedTaskManager implements TaskManager {
+
+    private static final Comparator<Task> BY_ID = Comparator.comparingInt(Task::getID);
+    private static final Comparator<Task> BY_START = Comparator.comparingLong(Task::getStartEpochNanos)
+            .thenComparingInt(Task::getID);
+
+    private final InMemoryTaskManager[] shards;
+    private final ReadWriteLock[] shardLocks;
+    private final ReadWriteLock transactionLock = new ReentrantReadWriteLock();
+    private final TaskIntervalTree timeline = new TaskIntervalTree();
+    private final Map<Integer, Integer> subtaskShards = new ConcurrentHashMap<>();
+    private final HistoryManager historyManager = new SynchronizedHistoryManager(Managers.getDefaultHistory());
+    private final ChangeFeed changeFeed = new ChangeFeed();
+    private final IdAllocator idAllocator;
+    private IntIdSet scheduledIds;
+
+    public ShardedTaskManager(int shardCount) {
+        this(shardCount, new AtomicIdAllocator());
+    }
+
+    public ShardedTaskManager(int shardCount, IdAllocator idAllocator) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Количество сегментов должно быть положительным.");
+        }
+        if (idAllocator == null) {
+            throw new NullPointerException("Генератор идентификаторов не задан.");
+        }
+
+        this.idAllocator = idAllocator;
+        shards = new InMemoryTaskManager[shardCount];
+        shardLocks = new ReadWriteLock[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new InMemoryTaskManager(idAllocator, historyManager, changeFeed);
+            shardLocks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    private int shardOf(int id) {
+        return Math.floorMod(id * 0x9E3779B9, shards.length);
+    }
+
+    private int subtaskShardOf(int id) {
+        Integer shard = subtaskShards.get(id);
+        return shard != null ? shard : -1;
+    }
+
+    private <R> R shared(Supplier<R> operation) {
+        Lock readLock = transactionLock.readLock();
+        readLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <R> R readShard(int shard, Function<InMemoryTaskManager, R> operation) {
+        Lock readLock = shardLocks[shard].readLock();
+        readLock.lock();
+        try {
+            return operation.apply(shards[shard]);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <R> R read(int shard, Function<InMemoryTaskManager, R> operation) {
+        return shared(() -> readShard(shard, operation));
+    }
+
+    private List<Task> copyHistory(List<Task> history) {
+        return shared(() -> {
+            List<Task> copies = new ArrayList<>(history.size());
+            for (Task task : history) {
+                copies.add(task instanceof Epic epic
+                        ? readShard(shardOf(epic.getID()), shard -> new Epic(epic))
+                        : task);
+            }
+            return copies;
+        });
+    }
+
+    private <R> List<R> fanOut(Function<InMemoryTaskManager, R> query) {
+        return shared(() -> IntStream.range(0, shards.length).parallel()
+                .mapToObj(shard -> readShard(shard, query))
+                .toList());
+    }
+
+    private <R> R write(Supplier<R> operation, int... shardIndexes) {
+        int[] order = Arrays.stream(shardIndexes).distinct().sorted().toArray();
+        return shared(() -> {
+            for (int shard : order) {
+                shardLocks[shard].writeLock().lock();
+            }
+            try {
+                return operation.get();
+            } finally {
+                for (int i = order.length - 1; i >= 0; i--) {
+                    shardLocks[order[i]].writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void write(Runnable operation, int... shardIndexes) {
+        write(() -> {
+            operation.run();
+            return null;
+        }, shardIndexes);
+    }
+
+    private <R> R exclusive(Supplier<R> operation) {
+        Lock writeLock = transactionLock.writeLock();
+        writeLock.lock();
+        try {
+            if (scheduledIds != null) {
+                return operation.get();
+            }
+
+            scheduledIds = new IntIdSet();
+            for (InMemoryTaskManager shard : shards) {
+                shard.beginTransaction();
+            }
+
+            R result;
+            try {
+                result = operation.get();
+                checkScheduledIntersections();
+            } catch (RuntimeException exception) {
+                scheduledIds = null;
+                for (InMemoryTaskManager shard : shards) {
+                    shard.rollbackTransaction();
+                }
+                rebuildIndexes();
+                throw exception;
+            }
+
+            scheduledIds = null;
+            for (InMemoryTaskManager shard : shards) {
+                shard.commitTransaction();
+            }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void exclusive(Runnable operation) {
+        exclusive(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private void checkScheduledIntersections() {
+        for (int i = 0; i < scheduledIds.size(); i++) {
+            Task task = findTimedTask(scheduledIds.get(i));
+            if (task != null && task.getStartEpochNanos() != EpochTime.NONE && timeline.hasIntersection(task)) {
+                throw InMemoryTaskManager.intersectionOf(task);
+            }
+        }
+    }
+
+    private Task findTimedTask(int id) {
+        Task task = shards[shardOf(id)].tasks.get(id);
+        int subtaskShard = subtaskShardOf(id);
+        if (task == null && subtaskShard >= 0) {
+            task = shards[subtaskShard].subtasks.get(id);
+        }
+        return task;
+    }
+
+    private void rebuildIndexes() {
+        synchronized (timeline) {
+            timeline.clear();
+            subtaskShards.clear();
+            for (int i = 0; i < shards.length; i++) {
+                for (Task task : shards[i].getPrioritizedTasks()) {
+                    timeline.add(task);
+                }
+                for (Subtask subtask : shards[i].getSubtasksView()) {
+                    subtaskShards.put(subtask.getID(), i);
+                }
+            }
+        }
+    }
+
+    private void checkIntersection(Task task) {
+        if (task.getStartEpochNanos() == EpochTime.NONE) {
+            throw InMemoryTaskManager.intersectionOf(task);
+        }
+
+        synchronized (timeline) {
+            if (scheduledIds == null && timeline.hasIntersection(task)) {
+                throw InMemoryTaskManager.intersectionOf(task);
+            }
+        }
+    }
+
+    private int reserve(Task oldTask, Task newTask) {
+        if (newTask.getStartEpochNanos() == EpochTime.NONE) {
+            throw InMemoryTaskManager.intersectionOf(newTask);
+        }
+
+        synchronized (timeline) {
+            timeline.remove(oldTask);
+            if (scheduledIds == null && timeline.hasIntersection(newTask)) {
+                timeline.add(oldTask);
+                throw InMemoryTaskManager.intersectionOf(newTask);
+            }
+
+            int id = newTask.getID() < 0 ? idAllocator.nextId() : newTask.getID();
+            timeline.add(id, newTask.getStartEpochNanos(), TaskIntervalTree.endOf(newTask));
+            if (scheduledIds != null) {
+                scheduledIds.add(id);
+            }
+            return id;
+        }
+    }
+
+    private void replaceInTimeline(Task removedTask, Task addedTask) {
+        synchronized (timeline) {
+            timeline.remove(removedTask);
+            timeline.add(addedTask);
+        }
+    }
+
+    private int assignId(Task task) {
+        if (task.getID() < 0) {
+            return idAllocator.nextId();
+        }
+
+        idAllocator.observe(task.getID());
+        return task.getID();
+    }
+
+    @Override
+    public List<Task> getTasksList() {
+        return sortedById(fanOut(InMemoryTaskManager::getTasksList));
+    }
+
+    @Override
+    public List<Epic> getEpicsList() {
+        return sortedById(fanOut(shard -> ConcurrentTaskManager.copyEpics(shard.getEpicsList())));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksList() {
+        return sortedById(fanOut(InMemoryTaskManager::getSubtasksList));
+    }
+
+    @Override
+    public Collection<Task> getTasksView() {
+        return Collections.unmodifiableList(getTasksList());
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return Collections.unmodifiableList(getEpicsList());
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return Collections.unmodifiableList(getSubtasksList());
+    }
+
+    @Override
+    public boolean containsTask(int id) {
+        return read(shardOf(id), shard -> shard.containsTask(id));
+    }
+
+    @Override
+    public boolean containsEpic(int id) {
+        return read(shardOf(id), shard -> shard.containsEpic(id));
+    }
+
+    @Override
+    public boolean containsSubtask(int id) {
+        int subtaskShard = subtaskShardOf(id);
+        return subtaskShard >= 0 && read(subtaskShard, shard -> shard.containsSubtask(id));
+    }
+
+    @Override
+    public void clearTasksList() {
+        exclusive(() -> {
+            for (InMemoryTaskManager shard : shards) {
+                for (Task task : shard.getTasksList()) {
+                    replaceInTimeline(task, null);
+                }
+                shard.clearTasksList();
+            }
+        });
+    }
+
+    @Override
+    public void clearEpicsList() {
+        exclusive(() -> {
+            clearSubtasksList();
+            for (InMemoryTaskManager shard : shards) {
+                shard.clearEpicsList();
+            }
+        });
+    }
+
+    @Override
+    public void clearSubtasksList() {
+        exclusive(() -> {
+            for (InMemoryTaskManager shard : shards) {
+                for (Subtask subtask : shard.getSubtasksList()) {
+                    replaceInTimeline(subtask, null);
+                    subtaskShards.remove(subtask.getID());
+                }
+                shard.clearSubtasksList();
+            }
+        });
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return read(shardOf(id), shard -> shard.getTask(id));
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return read(shardOf(id), shard -> new Epic(shard.getEpic(id)));
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        int subtaskShard = subtaskShardOf(id);
+        if (subtaskShard < 0) {
+            throw new NotFoundException("Задача с id " + id + " не найдена.");
+        }
+
+        return read(subtaskShard, shard -> shard.getSubtask(id));
+    }
+
+    @Override
+    public int addTask(Task task) throws TaskIntersectionException {
+        return shared(() -> {
+            int id = reserve(null, task);
+            Task storedTask = new Task(id, task.getName(), task.getDescription(),
+                    task.getStatus(), task.getStartTime(), task.getDuration());
+            try {
+                return write(() -> shards[shardOf(id)].addTask(storedTask), shardOf(id));
+            } catch (RuntimeException exception) {
+                replaceInTimeline(storedTask, null);
+                throw exception;
+            }
+        });
+    }
+
+    @Override
+    public int addEpic(Epic epic) {
+        int id = assignId(epic);
+        Epic storedEpic = new Epic(id, epic.getName(), epic.getDescription());
+        return write(() -> shards[shardOf(id)].addEpic(storedEpic), shardOf(id));
+    }
+
+    @Override
+    public int addSubtask(Subtask subtask) {
+        int epicShard = shardOf(subtask.getEpicID());
+        return write(() -> {
+            checkIntersection(subtask);
+            Epic epic = shards[epicShard].epics.get(subtask.getEpicID());
+            if (epic == null || epic.getID() == subtask.getID()) {
+                return -1;
+            }
+
+            int id = reserve(null, subtask);
+            Subtask storedSubtask = new Subtask(id, epic.getID(), subtask.getName(), subtask.getDescription(),
+                    subtask.getStatus(), subtask.getStartTime(), subtask.getDuration());
+            try {
+                shards[epicShard].addSubtask(storedSubtask);
+            } catch (RuntimeException exception) {
+                replaceInTimeline(storedSubtask, null);
+                throw exception;
+            }
+            subtaskShards.put(id, epicShard);
+            return id;
+        }, epicShard);
+    }
+
+    @Override
+    public List<Integer> addTasks(Collection<Task> tasks) throws TaskIntersectionException {
+        return exclusive(() -> {
+            List<Integer> ids = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                ids.add(addTask(task));
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    public List<Integer> addEpics(Collection<Epic> epics) {
+        return exclusive(() -> {
+            List<Integer> ids = new ArrayList<>(epics.size());
+            for (Epic epic : epics) {
+                ids.add(addEpic(epic));
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    public List<Integer> addSubtasks(Collection<Subtask> subtasks) throws TaskIntersectionException {
+        return exclusive(() -> {
+            List<Integer> ids = new ArrayList<>(subtasks.size());
+            for (Subtask subtask : subtasks) {
+                ids.add(addSubtask(subtask));
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        updateTask(task, null);
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        write(() -> shards[shardOf(epic.getID())].updateEpic(epic), shardOf(epic.getID()));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        updateSubtask(subtask, null);
+    }
+
+    @Override
+    public void updateTask(Task task, long expectedVersion) {
+        updateTask(task, Long.valueOf(expectedVersion));
+    }
+
+    @Override
+    public void updateEpic(Epic epic, long expectedVersion) {
+        write(() -> shards[shardOf(epic.getID())].updateEpic(epic, expectedVersion), shardOf(epic.getID()));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask, long expectedVersion) {
+        updateSubtask(subtask, Long.valueOf(expectedVersion));
+    }
+
+    private void updateTask(Task newTask, Long expectedVersion) {
+        int id = newTask.getID();
+        write(() -> {
+            InMemoryTaskManager shard = shards[shardOf(id)];
+            Task oldTask = shard.tasks.get(id);
+            if (expectedVersion != null) {
+                InMemoryTaskManager.checkVersion(oldTask, id, expectedVersion);
+            }
+            if (oldTask == null) {
+                return;
+            }
+
+            reserve(oldTask, newTask);
+            try {
+                shard.updateTask(newTask);
+            } catch (RuntimeException exception) {
+                replaceInTimeline(newTask, oldTask);
+                throw exception;
+            }
+        }, shardOf(id));
+    }
+
+    private void updateSubtask(Subtask newSubtask, Long expectedVersion) {
+        int id = newSubtask.getID();
+        int sourceShard = subtaskShardOf(id);
+        if (sourceShard < 0) {
+            if (expectedVersion != null) {
+                throw new NotFoundException("Задача с id " + id + " не найдена.");
+            }
+            return;
+        }
+
+        int targetShard = shardOf(newSubtask.getEpicID());
+        boolean moved = write(() -> {
+            if (subtaskShardOf(id) != sourceShard) {
+                return true;
+            }
+
+            InMemoryTaskManager source = shards[sourceShard];
+            InMemoryTaskManager target = shards[targetShard];
+            Subtask oldSubtask = source.subtasks.get(id);
+            if (expectedVersion != null) {
+                InMemoryTaskManager.checkVersion(oldSubtask, id, expectedVersion);
+            }
+
+            reserve(oldSubtask, newSubtask);
+            try {
+                if (sourceShard == targetShard || !target.epics.containsKey(newSubtask.getEpicID())) {
+                    source.updateSubtask(newSubtask);
+                    return false;
+                }
+
+                target.moveSubtaskIn(oldSubtask, newSubtask);
+                source.moveSubtaskOut(oldSubtask);
+                subtaskShards.put(id, targetShard);
+                return false;
+            } catch (RuntimeException exception) {
+                replaceInTimeline(newSubtask, oldSubtask);
+                throw exception;
+            }
+        }, sourceShard, targetShard);
+
+        if (moved) {
+            updateSubtask(newSubtask, expectedVersion);
+        }
+    }
+
+    @Override
+    public void updateTasks(Collection<Task> tasks) throws TaskIntersectionException {
+        exclusive(() -> {
+            for (Task task : tasks) {
+                updateTask(task);
+            }
+        });
+    }
+
+    @Override
+    public void updateSubtasks(Collection<Subtask> subtasks) throws TaskIntersectionException {
+        exclusive(() -> {
+            for (Subtask subtask : subtasks) {
+                updateSubtask(subtask);
+            }
+        });
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        write(() -> {
+            InMemoryTaskManager shard = shards[shardOf(id)];
+            Task task = shard.tasks.get(id);
+            shard.deleteTask(id);
+            replaceInTimeline(task, null);
+        }, shardOf(id));
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        write(() -> {
+            InMemoryTaskManager shard = shards[shardOf(id)];
+            List<Subtask> epicSubtasks = shard.getEpicSubtasksList(id);
+            shard.deleteEpic(id);
+            for (Subtask subtask : epicSubtasks) {
+                replaceInTimeline(subtask, null);
+                subtaskShards.remove(subtask.getID());
+            }
+        }, shardOf(id));
+    }
+
+    @Override
+    public void deleteSubtask(int id) {
+        int subtaskShard = subtaskShardOf(id);
+        if (subtaskShard < 0) {
+            throw new NotFoundException("Задача с id " + id + " не найдена.");
+        }
+
+        write(() -> {
+            InMemoryTaskManager shard = shards[subtaskShard];
+            Subtask subtask = shard.subtasks.get(id);
+            shard.deleteSubtask(id);
+            replaceInTimeline(subtask, null);
+            subtaskShards.remove(id);
+        }, subtaskShard);
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> ids) {
+        exclusive(() -> {
+            for (int id : ids) {
+                if (!containsTask(id)) {
+                    throw new NotFoundException("Задача с id " + id + " не найдена.");
+                }
+            }
+
+            for (int id : ids) {
+                if (containsTask(id)) {
+                    deleteTask(id);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void deleteSubtasks(Collection<Integer> ids) {
+        exclusive(() -> {
+            for (int id : ids) {
+                if (!containsSubtask(id)) {
+                    throw new NotFoundException("Задача с id " + id + " не найдена.");
+                }
+            }
+
+            for (int id : ids) {
+                if (containsSubtask(id)) {
+                    deleteSubtask(id);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void executeInTransaction(Consumer<TaskManager> operations) throws TaskIntersectionException {
+        exclusive(() -> operations.accept(this));
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasksList(int id) {
+        return read(shardOf(id), shard -> shard.getEpicSubtasksList(id));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return copyHistory(historyManager.getHistory());
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return merge(fanOut(InMemoryTaskManager::getPrioritizedTasks), BY_START, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        InMemoryTaskManager.checkRange(from, to);
+        return merge(fanOut(shard -> shard.getPrioritizedTasks(from, to)), BY_START, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        InMemoryTaskManager.checkRange(from, to);
+        checkLimit(limit);
+        return merge(fanOut(shard -> shard.getPrioritizedTasks(from, to, limit)), BY_START, limit);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(LocalDateTime instant, int limit) {
+        checkLimit(limit);
+        if (instant == null) {
+            throw new IllegalArgumentException("Момент времени не задан.");
+        }
+
+        return merge(fanOut(shard -> shard.getPrioritizedTasksAfter(instant, limit)), BY_START, limit);
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime notBefore) {
+        InMemoryTaskManager.checkSlotRequest(duration, notBefore);
+        return shared(() -> {
+            synchronized (timeline) {
+                return timeline.findFreeSlot(duration, notBefore);
+            }
+        });
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return merge(fanOut(shard -> shard.getTasksPage(afterId, limit)), BY_ID, limit);
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        checkLimit(limit);
+        return merge(fanOut(shard -> ConcurrentTaskManager.copyEpics(shard.getEpicsPage(afterId, limit))), BY_ID,
+                limit);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return merge(fanOut(shard -> shard.getSubtasksPage(afterId, limit)), BY_ID, limit);
+    }
+
+    @Override
+    public List<Task> getHistoryPage(int afterId, int limit) {
+        checkLimit(limit);
+        return copyHistory(historyManager.getHistory(afterId, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        Task afterTask = null;
+
+        if (afterId > 0) {
+            afterTask = shared(() -> {
+                Task task = readShard(shardOf(afterId), shard -> shard.tasks.get(afterId));
+                int subtaskShard = subtaskShardOf(afterId);
+                if (task == null && subtaskShard >= 0) {
+                    task = readShard(subtaskShard, shard -> shard.subtasks.get(afterId));
+                }
+                return task;
+            });
+            if (afterTask == null || afterTask.getStartEpochNanos() == EpochTime.NONE) {
+                throw new NotFoundException("Задача с id " + afterId + " отсутствует в списке приоритетов.");
+            }
+        }
+
+        Task pageStart = afterTask;
+        return merge(fanOut(shard -> shard.prioritizedAfter(pageStart, limit)), BY_START, limit);
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return sortedById(fanOut(shard -> shard.getTasksByStatus(status)));
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return sortedById(fanOut(shard -> ConcurrentTaskManager.copyEpics(shard.getEpicsByStatus(status))));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return sortedById(fanOut(shard -> shard.getSubtasksByStatus(status)));
+    }
+
+    @Override
+    public List<Task> searchTasks(String query) {
+        return sortedById(fanOut(shard -> ConcurrentTaskManager.copyHistory(shard.searchTasks(query))));
+    }
+
+    @Override
+    public BoardStats getStats() {
+        return BoardStats.combine(fanOut(InMemoryTaskManager::getStats));
+    }
+
+    @Override
+    public Duration getTotalDuration(TaskType type, TaskStatus status) {
+        InMemoryTaskManager.checkTotalRequest(type, status);
+        return fanOut(shard -> shard.getTotalDuration(type, status)).stream()
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    @Override
+    public int archiveDoneTasks(Duration minAge) {
+        long cutoff = InMemoryTaskManager.archiveCutoff(minAge, LocalDateTime.now());
+        return exclusive(() -> {
+            int archived = 0;
+            for (InMemoryTaskManager shard : shards) {
+                for (Task task : shard.archiveDoneTasks(cutoff)) {
+                    replaceInTimeline(task, null);
+                    archived++;
+                }
+            }
+            return archived;
+        });
+    }
+
+    @Override
+    public Task getArchivedTask(int id) {
+        return read(shardOf(id), shard -> shard.getArchivedTask(id));
+    }
+
+    @Override
+    public List<Task> getArchivedTasksPage(int afterId, int limit) {
+        checkLimit(limit);
+        return merge(fanOut(shard -> shard.getArchivedTasksPage(afterId, limit)), BY_ID, limit);
+    }
+
+    @Override
+    public void addListener(TaskEventListener listener) {
+        changeFeed.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(TaskEventListener listener) {
+        changeFeed.removeListener(listener);
+    }
+
+    private static <T extends Task> List<T> sortedById(List<List<T>> parts) {
+        List<T> result = new ArrayList<>();
+        for (List<T> part : parts) {
+            result.addAll(part);
+        }
+        result.sort(BY_ID);
+        return result;
+    }
+
+    private static <T extends Task> List<T> merge(List<List<T>> sources, Comparator<? super T> order, int limit) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>((first, second) -> order.compare(
+                sources.get(first[0]).get(first[1]), sources.get(second[0]).get(second[1])));
+        for (int i = 0; i < sources.size(); i++) {
+            if (!sources.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+        while (!heads.isEmpty() && result.size() < limit) {
+            int[] head = heads.poll();
+            List<T> source = sources.get(head[0]);
+            result.add(source.get(head[1]));
+            if (++head[1] < source.size()) {
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным.");
+        }
+    }
+}
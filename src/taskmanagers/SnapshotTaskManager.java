@@ -0,0 +1,331 @@
+package taskmanagers;
+
+import exceptions.TaskIntersectionException;
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class SnapshotTaskManager extends ConcurrentTaskManager {
+
+    private final EventBuffer events = new EventBuffer();
+    private final HistoryManager history = new SynchronizedHistoryManager(Managers.getDefaultHistory());
+    private volatile BoardSnapshot snapshot;
+
+    public SnapshotTaskManager(TaskManager delegate) {
+        super(delegate);
+        delegate.addListener(events);
+        snapshot = BoardSnapshot.of(delegate);
+        for (Task task : delegate.getHistory()) {
+            history.add(task instanceof Epic epic ? new Epic(epic) : task);
+        }
+    }
+
+    private <R> R publish(Supplier<R> operation) {
+        return write(() -> {
+            try {
+                return operation.get();
+            } finally {
+                List<TaskEvent> published = events.drain();
+                snapshot = snapshot.apply(published);
+                for (TaskEvent event : published) {
+                    if (event.getKind() == TaskEvent.Kind.DELETED) {
+                        history.remove(event.getId());
+                    }
+                }
+            }
+        });
+    }
+
+    private void publish(Runnable operation) {
+        publish(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    @Override
+    public List<Task> getTasksList() {
+        return snapshot.tasks();
+    }
+
+    @Override
+    public List<Epic> getEpicsList() {
+        return snapshot.epics();
+    }
+
+    @Override
+    public List<Subtask> getSubtasksList() {
+        return snapshot.subtasks();
+    }
+
+    @Override
+    public Collection<Task> getTasksView() {
+        return snapshot.tasksView();
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return snapshot.epicsView();
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return snapshot.subtasksView();
+    }
+
+    @Override
+    public boolean containsTask(int id) {
+        return snapshot.containsTask(id);
+    }
+
+    @Override
+    public boolean containsEpic(int id) {
+        return snapshot.containsEpic(id);
+    }
+
+    @Override
+    public boolean containsSubtask(int id) {
+        return snapshot.containsSubtask(id);
+    }
+
+    @Override
+    public Task getTask(int id) {
+        Task task = snapshot.task(id);
+        history.add(task);
+        return task;
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        Epic epic = snapshot.epic(id);
+        history.add(epic);
+        return new Epic(epic);
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        Subtask subtask = snapshot.subtask(id);
+        history.add(subtask);
+        return subtask;
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return snapshot.tasksByStatus(status);
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return snapshot.epicsByStatus(status);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return snapshot.subtasksByStatus(status);
+    }
+
+    @Override
+    public void clearTasksList() {
+        publish(delegate::clearTasksList);
+    }
+
+    @Override
+    public int archiveDoneTasks(Duration minAge) {
+        return publish(() -> delegate.archiveDoneTasks(minAge));
+    }
+
+    @Override
+    public void clearEpicsList() {
+        publish(delegate::clearEpicsList);
+    }
+
+    @Override
+    public void clearSubtasksList() {
+        publish(delegate::clearSubtasksList);
+    }
+
+    @Override
+    public int addTask(Task task) throws TaskIntersectionException {
+        return publish(() -> delegate.addTask(task));
+    }
+
+    @Override
+    public int addEpic(Epic epic) {
+        return publish(() -> delegate.addEpic(epic));
+    }
+
+    @Override
+    public int addSubtask(Subtask subtask) {
+        return publish(() -> delegate.addSubtask(subtask));
+    }
+
+    @Override
+    public List<Integer> addTasks(Collection<Task> tasks) {
+        return publish(() -> delegate.addTasks(tasks));
+    }
+
+    @Override
+    public List<Integer> addEpics(Collection<Epic> epics) {
+        return publish(() -> delegate.addEpics(epics));
+    }
+
+    @Override
+    public List<Integer> addSubtasks(Collection<Subtask> subtasks) {
+        return publish(() -> delegate.addSubtasks(subtasks));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        publish(() -> delegate.updateTask(task));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        publish(() -> delegate.updateEpic(epic));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        publish(() -> delegate.updateSubtask(subtask));
+    }
+
+    @Override
+    public void updateTask(Task task, long expectedVersion) {
+        publish(() -> delegate.updateTask(task, expectedVersion));
+    }
+
+    @Override
+    public void updateEpic(Epic epic, long expectedVersion) {
+        publish(() -> delegate.updateEpic(epic, expectedVersion));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask, long expectedVersion) {
+        publish(() -> delegate.updateSubtask(subtask, expectedVersion));
+    }
+
+    @Override
+    public void updateTasks(Collection<Task> tasks) {
+        publish(() -> delegate.updateTasks(tasks));
+    }
+
+    @Override
+    public void updateSubtasks(Collection<Subtask> subtasks) {
+        publish(() -> delegate.updateSubtasks(subtasks));
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        publish(() -> delegate.deleteTask(id));
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        publish(() -> delegate.deleteEpic(id));
+    }
+
+    @Override
+    public void deleteSubtask(int id) {
+        publish(() -> delegate.deleteSubtask(id));
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> ids) {
+        publish(() -> delegate.deleteTasks(ids));
+    }
+
+    @Override
+    public void deleteSubtasks(Collection<Integer> ids) {
+        publish(() -> delegate.deleteSubtasks(ids));
+    }
+
+    @Override
+    public void executeInTransaction(Consumer<TaskManager> operations) {
+        publish(() -> delegate.executeInTransaction(manager -> operations.accept(delegate)));
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasksList(int id) {
+        return snapshot.epicSubtasks(id);
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return copyHistory(history.getHistory());
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return snapshot.prioritized();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return snapshot.prioritizedRange(from, to, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return snapshot.prioritizedRange(from, to, limit);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(LocalDateTime instant, int limit) {
+        return snapshot.prioritizedAfter(instant, limit);
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime notBefore) {
+        return snapshot.findFreeSlot(duration, notBefore);
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return snapshot.tasksPage(afterId, limit);
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        return snapshot.epicsPage(afterId, limit);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return snapshot.subtasksPage(afterId, limit);
+    }
+
+    @Override
+    public List<Task> getHistoryPage(int afterId, int limit) {
+        InMemoryTaskManager.checkLimit(limit);
+        return copyHistory(history.getHistory(afterId, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(int afterId, int limit) {
+        return snapshot.prioritizedPage(afterId, limit);
+    }
+
+    private static final class EventBuffer implements TaskEventListener {
+        private final List<TaskEvent> events = new ArrayList<>();
+
+        @Override
+        public synchronized void onEvent(TaskEvent event) {
+            events.add(event);
+        }
+
+        synchronized List<TaskEvent> drain() {
+            List<TaskEvent> drained = List.copyOf(events);
+            events.clear();
+            return drained;
+        }
+    }
+}
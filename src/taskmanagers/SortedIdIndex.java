@@ -0,0 +1,96 @@
+package taskmanagers;
+
+import java.util.Arrays;
+
+class SortedIdIndex {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] ids = new int[MIN_CAPACITY];
+    private boolean[] removed = new boolean[MIN_CAPACITY];
+    private int length;
+    private int removedCount;
+
+    void add(int id) {
+        if (length == 0 || id > ids[length - 1]) {
+            ensureCapacity(length + 1);
+            ids[length] = id;
+            removed[length] = false;
+            length++;
+            return;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, length, id);
+        if (position >= 0) {
+            if (removed[position]) {
+                removed[position] = false;
+                removedCount--;
+            }
+            return;
+        }
+
+        int insertAt = -position - 1;
+        ensureCapacity(length + 1);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, length - insertAt);
+        System.arraycopy(removed, insertAt, removed, insertAt + 1, length - insertAt);
+        ids[insertAt] = id;
+        removed[insertAt] = false;
+        length++;
+    }
+
+    void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, length, id);
+        if (position < 0 || removed[position]) {
+            return;
+        }
+
+        removed[position] = true;
+        removedCount++;
+        if (removedCount > MIN_CAPACITY && removedCount > length - removedCount) {
+            compact();
+        }
+    }
+
+    void clear() {
+        length = 0;
+        removedCount = 0;
+    }
+
+    int[] idsAfter(int afterId, int limit) {
+        int position = Arrays.binarySearch(ids, 0, length, afterId);
+        position = position >= 0 ? position + 1 : -position - 1;
+
+        int[] page = new int[Math.min(limit, length - removedCount)];
+        int count = 0;
+        while (position < length && count < page.length) {
+            if (!removed[position]) {
+                page[count++] = ids[position];
+            }
+            position++;
+        }
+
+        return count == page.length ? page : Arrays.copyOf(page, count);
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (!removed[i]) {
+                ids[kept] = ids[i];
+                removed[kept] = false;
+                kept++;
+            }
+        }
+        length = kept;
+        removedCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+
+        int grown = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, grown);
+        removed = Arrays.copyOf(removed, grown);
+    }
+}
@@ -0,0 +1,45 @@
+package taskmanagers;
+
+import tasks.IntIdSet;
+import tasks.TaskStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+class StatusIndex {
+    private final Map<TaskStatus, IntIdSet> idsByStatus = new EnumMap<>(TaskStatus.class);
+
+    StatusIndex() {
+        for (TaskStatus status : TaskStatus.values()) {
+            idsByStatus.put(status, new IntIdSet());
+        }
+    }
+
+    void add(int id, TaskStatus status) {
+        if (status != null) {
+            idsByStatus.get(status).add(id);
+        }
+    }
+
+    void remove(int id) {
+        for (IntIdSet ids : idsByStatus.values()) {
+            ids.remove(id);
+        }
+    }
+
+    void clear() {
+        for (IntIdSet ids : idsByStatus.values()) {
+            ids.clear();
+        }
+    }
+
+    IntIdSet get(TaskStatus status) {
+        return idsByStatus.get(status);
+    }
+
+    Map<TaskStatus, Integer> counts() {
+        Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+        idsByStatus.forEach((status, ids) -> counts.put(status, ids.size()));
+        return counts;
+    }
+}
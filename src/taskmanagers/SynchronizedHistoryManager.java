@@ -0,0 +1,40 @@
+package taskmanagers;
+
+import tasks.IntIdSet;
+import tasks.Task;
+
+import java.util.List;
+
+class SynchronizedHistoryManager implements HistoryManager {
+
+    private final HistoryManager delegate;
+
+    SynchronizedHistoryManager(HistoryManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        delegate.add(task);
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        delegate.remove(id);
+    }
+
+    @Override
+    public synchronized void remove(IntIdSet ids) {
+        delegate.remove(ids);
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        return delegate.getHistory();
+    }
+
+    @Override
+    public synchronized List<Task> getHistory(int afterId, int limit) {
+        return delegate.getHistory(afterId, limit);
+    }
+}
@@ -0,0 +1,193 @@
+package taskmanagers;
+
+import tasks.EpochTime;
+import tasks.IntIdSet;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+class TaskColumns implements TaskEventListener {
+
+    static final int SCAN_THRESHOLD = 4096;
+    private static final byte NO_STATUS = -1;
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final IntIntMap slots = new IntIntMap();
+    private int[] ids = new int[16];
+    private byte[] types = new byte[16];
+    private byte[] statuses = new byte[16];
+    private long[] starts = new long[16];
+    private long[] durations = new long[16];
+    private int[] epicIds = new int[16];
+    private String[] names = new String[16];
+    private String[] descriptions = new String[16];
+    private int size;
+
+    @Override
+    public void onEvent(TaskEvent event) {
+        switch (event.getKind()) {
+            case ADDED -> write(append(event.getId()), event.getTaskType(), event.getNewValue());
+            case UPDATED -> update(event.getId(), event.getTaskType(), event.getNewValue());
+            case DELETED -> delete(event.getId());
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] countByStatus(TaskType type) {
+        byte typeCode = (byte) type.ordinal();
+        return scan((from, to) -> {
+            int[] counts = new int[STATUSES.length];
+            for (int slot = from; slot < to; slot++) {
+                if (types[slot] == typeCode && statuses[slot] != NO_STATUS) {
+                    counts[statuses[slot]]++;
+                }
+            }
+            return counts;
+        }, (left, right) -> {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        });
+    }
+
+    long totalDuration(TaskType type, TaskStatus status) {
+        byte typeCode = (byte) type.ordinal();
+        byte statusCode = (byte) status.ordinal();
+        return scan((from, to) -> {
+            long total = 0;
+            for (int slot = from; slot < to; slot++) {
+                if (types[slot] == typeCode && statuses[slot] == statusCode && durations[slot] != EpochTime.NONE) {
+                    total += durations[slot];
+                }
+            }
+            return total;
+        }, Long::sum);
+    }
+
+    IntIdSet idsInWindow(long from, long to) {
+        byte epicCode = (byte) TaskType.EPIC.ordinal();
+        return scan((first, last) -> {
+            IntIdSet result = new IntIdSet();
+            for (int slot = first; slot < last; slot++) {
+                long start = starts[slot];
+                if (types[slot] == epicCode || start == EpochTime.NONE || start >= to) {
+                    continue;
+                }
+                long end = durations[slot] == EpochTime.NONE ? start : start + durations[slot];
+                if (end > from || start >= from) {
+                    result.add(ids[slot]);
+                }
+            }
+            return result;
+        }, (left, right) -> {
+            right.forEach(left::add);
+            return left;
+        });
+    }
+
+    private <R> R scan(RangeScan<R> leaf, BinaryOperator<R> combiner) {
+        if (size <= SCAN_THRESHOLD) {
+            return leaf.scan(0, size);
+        }
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(leaf, combiner, 0, size));
+    }
+
+    private int append(int id) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            types = Arrays.copyOf(types, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            epicIds = Arrays.copyOf(epicIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        ids[size] = id;
+        slots.put(id, size);
+        return size++;
+    }
+
+    private void update(int id, TaskType type, Task task) {
+        int slot = slots.get(id);
+        if (slot != IntIntMap.ABSENT) {
+            write(slot, type, task);
+        }
+    }
+
+    private void write(int slot, TaskType type, Task task) {
+        types[slot] = (byte) type.ordinal();
+        statuses[slot] = task.getStatus() == null ? NO_STATUS : (byte) task.getStatus().ordinal();
+        starts[slot] = task.getStartEpochNanos();
+        durations[slot] = task.getDurationNanos();
+        epicIds[slot] = task instanceof Subtask subtask ? subtask.getEpicID() : 0;
+        names[slot] = task.getName();
+        descriptions[slot] = task.getDescription();
+    }
+
+    private void delete(int id) {
+        int slot = slots.remove(id);
+        if (slot == IntIntMap.ABSENT) {
+            return;
+        }
+
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            types[slot] = types[last];
+            statuses[slot] = statuses[last];
+            starts[slot] = starts[last];
+            durations[slot] = durations[last];
+            epicIds[slot] = epicIds[last];
+            names[slot] = names[last];
+            descriptions[slot] = descriptions[last];
+            slots.put(ids[slot], slot);
+        }
+        names[last] = null;
+        descriptions[last] = null;
+    }
+
+    private interface RangeScan<R> {
+        R scan(int from, int to);
+    }
+
+    @SuppressWarnings("serial")
+    private static class ScanTask<R> extends RecursiveTask<R> {
+        private final RangeScan<R> leaf;
+        private final BinaryOperator<R> combiner;
+        private final int from;
+        private final int to;
+
+        ScanTask(RangeScan<R> leaf, BinaryOperator<R> combiner, int from, int to) {
+            this.leaf = leaf;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= SCAN_THRESHOLD) {
+                return leaf.scan(from, to);
+            }
+
+            int middle = (from + to) >>> 1;
+            ScanTask<R> left = new ScanTask<>(leaf, combiner, from, middle);
+            left.fork();
+            R right = new ScanTask<>(leaf, combiner, middle, to).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package taskmanagers;
+
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskType;
+
+public final class TaskEvent {
+
+    public enum Kind { ADDED, UPDATED, DELETED }
+
+    private final long sequence;
+    private final Kind kind;
+    private final TaskType taskType;
+    private final int id;
+    private final Task oldValue;
+    private final Task newValue;
+
+    TaskEvent(long sequence, Kind kind, Task oldValue, Task newValue) {
+        Task value = newValue != null ? newValue : oldValue;
+        this.sequence = sequence;
+        this.kind = kind;
+        this.taskType = typeOf(value);
+        this.id = value.getID();
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public TaskType getTaskType() {
+        return taskType;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Task getOldValue() {
+        return oldValue;
+    }
+
+    public Task getNewValue() {
+        return newValue;
+    }
+
+    private static TaskType typeOf(Task task) {
+        if (task instanceof Epic) {
+            return TaskType.EPIC;
+        }
+
+        return task instanceof Subtask ? TaskType.SUBTASK : TaskType.TASK;
+    }
+}
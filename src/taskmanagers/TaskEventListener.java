@@ -0,0 +1,5 @@
+package taskmanagers;
+
+public interface TaskEventListener {
+    void onEvent(TaskEvent event);
+}
@@ -0,0 +1,405 @@
+package taskmanagers;
+
+import tasks.EpochTime;
+import tasks.IntIdSet;
+import tasks.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+class TaskIntervalTree {
+
+    private static final int NIL = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] ids = new int[MIN_CAPACITY];
+    private long[] starts = new long[MIN_CAPACITY];
+    private long[] ends = new long[MIN_CAPACITY];
+    private long[] maxEnds = new long[MIN_CAPACITY];
+    private int[] priorities = new int[MIN_CAPACITY];
+    private int[] lefts = new int[MIN_CAPACITY];
+    private int[] rights = new int[MIN_CAPACITY];
+    private int root = NIL;
+    private int freeNode = NIL;
+    private int allocated;
+    private int size;
+
+    void add(Task task) {
+        if (task == null || task.getStartEpochNanos() == EpochTime.NONE) {
+            return;
+        }
+
+        add(task.getID(), task.getStartEpochNanos(), endOf(task));
+    }
+
+    void add(int id, long start, long end) {
+        root = insert(root, allocate(id, start, end));
+        size++;
+    }
+
+    boolean remove(Task task) {
+        if (task == null || task.getStartEpochNanos() == EpochTime.NONE) {
+            return false;
+        }
+
+        int previousSize = size;
+        root = delete(root, task.getStartEpochNanos(), task.getID());
+        return size < previousSize;
+    }
+
+    void removeAll(IntIdSet removedIds) {
+        int kept = 0;
+        int[] keptIds = new int[size];
+        long[] keptStarts = new long[size];
+        long[] keptEnds = new long[size];
+
+        int[] path = new int[MIN_CAPACITY];
+        int depth = 0;
+        int node = root;
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                path = push(path, depth++, node);
+                node = lefts[node];
+            }
+            node = path[--depth];
+            if (!removedIds.contains(ids[node])) {
+                keptIds[kept] = ids[node];
+                keptStarts[kept] = starts[node];
+                keptEnds[kept] = ends[node];
+                kept++;
+            }
+            node = rights[node];
+        }
+
+        clear();
+        for (int i = 0; i < kept; i++) {
+            add(keptIds[i], keptStarts[i], keptEnds[i]);
+        }
+    }
+
+    boolean contains(Task task) {
+        long start = task.getStartEpochNanos();
+        int node = root;
+
+        while (node != NIL) {
+            int result = compare(start, task.getID(), node);
+            if (result == 0) {
+                return true;
+            }
+            node = result < 0 ? lefts[node] : rights[node];
+        }
+
+        return false;
+    }
+
+    void clear() {
+        root = NIL;
+        freeNode = NIL;
+        allocated = 0;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(IntConsumer action) {
+        forEachFrom(Long.MIN_VALUE, Integer.MIN_VALUE, true, id -> {
+            action.accept(id);
+            return true;
+        });
+    }
+
+    void forEachFrom(long start, int id, boolean inclusive, IntPredicate action) {
+        int[] path = new int[MIN_CAPACITY];
+        int depth = 0;
+        int node = root;
+
+        while (true) {
+            while (node != NIL) {
+                int result = compare(start, id, node);
+                if (result < 0 || (result == 0 && inclusive)) {
+                    path = push(path, depth++, node);
+                    node = lefts[node];
+                } else {
+                    node = rights[node];
+                }
+            }
+
+            if (depth == 0) {
+                return;
+            }
+
+            node = path[--depth];
+            if (!action.test(ids[node])) {
+                return;
+            }
+            node = rights[node];
+            start = Long.MIN_VALUE;
+        }
+    }
+
+    boolean hasIntersection(Task task) {
+        return hasIntersection(task.getID(), task.getStartEpochNanos(), endOf(task));
+    }
+
+    boolean hasIntersection(int id, long start, long end) {
+        return intersects(root, start, end, id);
+    }
+
+    void collect(LocalDateTime from, LocalDateTime to, int limit, IntConsumer action) {
+        collect(root, EpochTime.clamp(from), EpochTime.clamp(to), limit, action);
+    }
+
+    long maxEndBefore(long instant) {
+        long maxEnd = EpochTime.NONE;
+        int node = root;
+
+        while (node != NIL) {
+            if (starts[node] < instant) {
+                maxEnd = Math.max(maxEnd, ends[node]);
+                if (lefts[node] != NIL) {
+                    maxEnd = Math.max(maxEnd, maxEnds[lefts[node]]);
+                }
+                node = rights[node];
+            } else {
+                node = lefts[node];
+            }
+        }
+
+        return maxEnd;
+    }
+
+    LocalDateTime findFreeSlot(Duration duration, LocalDateTime notBefore) {
+        long length = EpochTime.clamp(duration);
+        long from = EpochTime.clamp(notBefore);
+        long candidate = Math.max(maxEndBefore(from), from);
+        int[] path = new int[MIN_CAPACITY];
+        int depth = 0;
+        int node = root;
+
+        while (true) {
+            while (node != NIL) {
+                if (starts[node] < from) {
+                    node = rights[node];
+                } else {
+                    path = push(path, depth++, node);
+                    node = lefts[node];
+                }
+            }
+
+            if (depth == 0 || fits(candidate, length, starts[path[depth - 1]])) {
+                return slotAt(candidate, from, notBefore);
+            }
+
+            node = path[--depth];
+            candidate = Math.max(candidate, ends[node]);
+            node = rights[node];
+        }
+    }
+
+    static boolean fits(long candidate, long length, long nextStart) {
+        return nextStart >= candidate && Long.compareUnsigned(nextStart - candidate, length) >= 0;
+    }
+
+    static LocalDateTime slotAt(long candidate, long from, LocalDateTime notBefore) {
+        return candidate == from ? notBefore : EpochTime.toDateTime(candidate);
+    }
+
+    static long endOf(Task task) {
+        long end = task.getEndEpochNanos();
+        return end != EpochTime.NONE ? end : task.getStartEpochNanos();
+    }
+
+    private boolean intersects(int node, long start, long end, int excludedId) {
+        if (node == NIL || maxEnds[node] <= start) {
+            return false;
+        }
+
+        if (intersects(lefts[node], start, end, excludedId)) {
+            return true;
+        }
+
+        if (starts[node] >= end) {
+            return false;
+        }
+
+        if (ids[node] != excludedId && ends[node] > start) {
+            return true;
+        }
+
+        return intersects(rights[node], start, end, excludedId);
+    }
+
+    private int collect(int node, long from, long to, int remaining, IntConsumer action) {
+        if (node == NIL || remaining == 0 || maxEnds[node] < from) {
+            return remaining;
+        }
+
+        remaining = collect(lefts[node], from, to, remaining, action);
+
+        if (remaining == 0 || starts[node] >= to) {
+            return remaining;
+        }
+
+        if (ends[node] > from || starts[node] >= from) {
+            action.accept(ids[node]);
+            remaining--;
+        }
+
+        return collect(rights[node], from, to, remaining, action);
+    }
+
+    private int insert(int node, int newNode) {
+        if (node == NIL) {
+            return newNode;
+        }
+
+        if (compare(starts[newNode], ids[newNode], node) < 0) {
+            lefts[node] = insert(lefts[node], newNode);
+            if (priorities[lefts[node]] > priorities[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            rights[node] = insert(rights[node], newNode);
+            if (priorities[rights[node]] > priorities[node]) {
+                node = rotateLeft(node);
+            }
+        }
+
+        update(node);
+        return node;
+    }
+
+    private int delete(int node, long start, int id) {
+        if (node == NIL) {
+            return NIL;
+        }
+
+        int result = compare(start, id, node);
+        if (result < 0) {
+            lefts[node] = delete(lefts[node], start, id);
+        } else if (result > 0) {
+            rights[node] = delete(rights[node], start, id);
+        } else {
+            size--;
+            int merged = merge(lefts[node], rights[node]);
+            release(node);
+            return merged;
+        }
+
+        update(node);
+        return node;
+    }
+
+    private int merge(int left, int right) {
+        if (left == NIL) {
+            return right;
+        }
+
+        if (right == NIL) {
+            return left;
+        }
+
+        if (priorities[left] > priorities[right]) {
+            rights[left] = merge(rights[left], right);
+            update(left);
+            return left;
+        }
+
+        lefts[right] = merge(left, lefts[right]);
+        update(right);
+        return right;
+    }
+
+    private int rotateRight(int node) {
+        int left = lefts[node];
+        lefts[node] = rights[left];
+        rights[left] = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private int rotateLeft(int node) {
+        int right = rights[node];
+        rights[node] = lefts[right];
+        lefts[right] = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private void update(int node) {
+        long maxEnd = ends[node];
+
+        if (lefts[node] != NIL) {
+            maxEnd = Math.max(maxEnd, maxEnds[lefts[node]]);
+        }
+
+        if (rights[node] != NIL) {
+            maxEnd = Math.max(maxEnd, maxEnds[rights[node]]);
+        }
+
+        maxEnds[node] = maxEnd;
+    }
+
+    private int allocate(int id, long start, long end) {
+        int node;
+        if (freeNode != NIL) {
+            node = freeNode;
+            freeNode = lefts[node];
+        } else {
+            if (allocated == ids.length) {
+                grow();
+            }
+            node = allocated++;
+        }
+
+        ids[node] = id;
+        starts[node] = start;
+        ends[node] = end;
+        maxEnds[node] = end;
+        priorities[node] = ThreadLocalRandom.current().nextInt();
+        lefts[node] = NIL;
+        rights[node] = NIL;
+        return node;
+    }
+
+    private void release(int node) {
+        lefts[node] = freeNode;
+        freeNode = node;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        maxEnds = Arrays.copyOf(maxEnds, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+    }
+
+    private static int[] push(int[] path, int depth, int node) {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        path[depth] = node;
+        return path;
+    }
+
+    private int compare(long start, int id, int node) {
+        int result = Long.compare(start, starts[node]);
+        if (result != 0) {
+            return result;
+        }
+
+        return Integer.compare(id, ids[node]);
+    }
+}
@@ -1,9 +1,14 @@
 package taskmanagers;
 
 import exceptions.TaskIntersectionException;
+import exceptions.VersionConflictException;
 import tasks.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskManager {
     List<Task> getTasksList();
@@ -12,6 +17,18 @@ public interface TaskManager {
 
     List<Subtask> getSubtasksList();
 
+    Collection<Task> getTasksView();
+
+    Collection<Epic> getEpicsView();
+
+    Collection<Subtask> getSubtasksView();
+
+    boolean containsTask(int id);
+
+    boolean containsEpic(int id);
+
+    boolean containsSubtask(int id);
+
     void clearTasksList();
 
     void clearEpicsList();
@@ -24,11 +41,17 @@ public interface TaskManager {
 
     Subtask getSubtask(int id);
 
-    void addTask(Task task) throws TaskIntersectionException;
+    int addTask(Task task) throws TaskIntersectionException;
+
+    int addEpic(Epic epic);
+
+    int addSubtask(Subtask subtask);
+
+    List<Integer> addTasks(Collection<Task> tasks) throws TaskIntersectionException;
 
-    void addEpic(Epic epic);
+    List<Integer> addEpics(Collection<Epic> epics);
 
-    void addSubtask(Subtask subtask);
+    List<Integer> addSubtasks(Collection<Subtask> subtasks) throws TaskIntersectionException;
 
     void updateTask(Task task);
 
@@ -36,16 +59,71 @@ public interface TaskManager {
 
     void updateSubtask(Subtask subtask);
 
+    void updateTask(Task task, long expectedVersion) throws VersionConflictException;
+
+    void updateEpic(Epic epic, long expectedVersion) throws VersionConflictException;
+
+    void updateSubtask(Subtask subtask, long expectedVersion) throws VersionConflictException;
+
+    void updateTasks(Collection<Task> tasks) throws TaskIntersectionException;
+
+    void updateSubtasks(Collection<Subtask> subtasks) throws TaskIntersectionException;
+
     void deleteTask(int id);
 
     void deleteEpic(int id);
 
     void deleteSubtask(int id);
 
+    void deleteTasks(Collection<Integer> ids);
+
+    void deleteSubtasks(Collection<Integer> ids);
+
+    void executeInTransaction(Consumer<TaskManager> operations) throws TaskIntersectionException;
+
     List<Subtask> getEpicSubtasksList(int id);
 
     List<Task> getHistory();
 
     List<Task> getPrioritizedTasks();
 
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit);
+
+    List<Task> getPrioritizedTasksAfter(LocalDateTime instant, int limit);
+
+    LocalDateTime findFreeSlot(Duration duration, LocalDateTime notBefore);
+
+    List<Task> getTasksPage(int afterId, int limit);
+
+    List<Epic> getEpicsPage(int afterId, int limit);
+
+    List<Subtask> getSubtasksPage(int afterId, int limit);
+
+    List<Task> getHistoryPage(int afterId, int limit);
+
+    List<Task> getPrioritizedTasksPage(int afterId, int limit);
+
+    List<Task> getTasksByStatus(TaskStatus status);
+
+    List<Epic> getEpicsByStatus(TaskStatus status);
+
+    List<Subtask> getSubtasksByStatus(TaskStatus status);
+
+    List<Task> searchTasks(String query);
+
+    BoardStats getStats();
+
+    Duration getTotalDuration(TaskType type, TaskStatus status);
+
+    int archiveDoneTasks(Duration minAge);
+
+    Task getArchivedTask(int id);
+
+    List<Task> getArchivedTasksPage(int afterId, int limit);
+
+    void addListener(TaskEventListener listener);
+
+    void removeListener(TaskEventListener listener);
 }
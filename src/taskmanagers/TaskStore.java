@@ -0,0 +1,23 @@
+package taskmanagers;
+
+import java.util.Collection;
+import java.util.List;
+
+interface TaskStore<V> {
+
+    int size();
+
+    boolean containsKey(int key);
+
+    V get(int key);
+
+    V put(int key, V value);
+
+    V remove(int key);
+
+    void clear();
+
+    Collection<V> values();
+
+    List<V> valuesAfter(int afterKey, int limit);
+}
@@ -0,0 +1,48 @@
+package taskmanagers;
+
+import tasks.IntIdSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TaskTransaction {
+    private final List<Runnable> undoLog = new ArrayList<>();
+    private final IntIdSet scheduledIds = new IntIdSet();
+    private final IntIdSet forgottenIds = new IntIdSet();
+    private final List<Runnable> commitActions = new ArrayList<>();
+
+    void logUndo(Runnable action) {
+        undoLog.add(action);
+    }
+
+    void schedule(int id) {
+        scheduledIds.add(id);
+    }
+
+    void forget(int id) {
+        forgottenIds.add(id);
+    }
+
+    void afterCommit(Runnable action) {
+        commitActions.add(action);
+    }
+
+    IntIdSet getScheduledIds() {
+        return scheduledIds;
+    }
+
+    IntIdSet getForgottenIds() {
+        return forgottenIds;
+    }
+
+    List<Runnable> getCommitActions() {
+        return commitActions;
+    }
+
+    void rollback() {
+        for (int i = undoLog.size() - 1; i >= 0; i--) {
+            undoLog.get(i).run();
+        }
+        undoLog.clear();
+    }
+}
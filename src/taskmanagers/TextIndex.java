@@ -0,0 +1,111 @@
+package taskmanagers;
+
+import tasks.IntIdSet;
+import tasks.Task;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+class TextIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int[] NO_IDS = new int[0];
+
+    private final Map<String, IntIdSet> postings = new HashMap<>();
+
+    void add(Task task) {
+        for (String token : tokenize(task)) {
+            postings.computeIfAbsent(token, key -> new IntIdSet()).add(task.getID());
+        }
+    }
+
+    void remove(Task task) {
+        for (String token : tokenize(task)) {
+            IntIdSet ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(task.getID());
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    int[] search(String query) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return NO_IDS;
+        }
+
+        IntIdSet[] matches = new IntIdSet[tokens.size()];
+        int index = 0;
+        for (String token : tokens) {
+            IntIdSet ids = postings.get(token);
+            if (ids == null) {
+                return NO_IDS;
+            }
+            matches[index++] = ids;
+        }
+
+        IntIdSet smallest = matches[0];
+        for (IntIdSet ids : matches) {
+            if (ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+
+        int[] result = new int[smallest.size()];
+        int found = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            if (containsInAll(matches, id)) {
+                result[found++] = id;
+            }
+        }
+
+        result = Arrays.copyOf(result, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    static boolean matches(Task task, Set<String> queryTokens) {
+        return tokenize(task).containsAll(queryTokens);
+    }
+
+    private static boolean containsInAll(IntIdSet[] matches, int id) {
+        for (IntIdSet ids : matches) {
+            if (!ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> tokenize(Task task) {
+        Set<String> tokens = tokenize(task.getName());
+        tokens.addAll(tokenize(task.getDescription()));
+        return tokens;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        for (String token : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -3,10 +3,14 @@ package tasks;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.function.IntConsumer;
 
 public class Epic extends Task {
-    private final ArrayList<Integer> subtasksID = new ArrayList<>();
-    private LocalDateTime endTime;
+    private final IntIdSet subtasksID = new IntIdSet();
+    private long endEpochNanos = EpochTime.NONE;
+
+    private Epic() {
+    }
 
     public Epic(String name, String description) {
         super(name, description, TaskStatus.NEW, null, null);
@@ -21,15 +25,52 @@ public class Epic extends Task {
         super(id, name, description, status, startTime, duration);
     }
 
+    public Epic(Epic epic) {
+        this(epic.getID(), epic.getName(), epic.getDescription(), epic.getStatus(), null, null);
+        copyHeader(epic);
+        epic.forEachSubtaskID(subtasksID::add);
+    }
+
+    public static Epic headerOf(Epic epic) {
+        Epic header = new Epic(epic.getID(), epic.getName(), epic.getDescription(), epic.getStatus(), null, null);
+        header.copyHeader(epic);
+        return header;
+    }
+
+    private void copyHeader(Epic epic) {
+        this.startEpochNanos = epic.getStartEpochNanos();
+        this.durationNanos = epic.getDurationNanos();
+        this.version = epic.getVersion();
+        this.endEpochNanos = epic.getEndEpochNanos();
+    }
+
     public ArrayList<Integer> getSubtasksID() {
-        return new ArrayList<>(subtasksID);
+        ArrayList<Integer> ids = new ArrayList<>(subtasksID.size());
+        subtasksID.forEach(ids::add);
+        return ids;
+    }
+
+    public int getSubtasksCount() {
+        return subtasksID.size();
+    }
+
+    public int getSubtaskID(int index) {
+        return subtasksID.get(index);
+    }
+
+    public boolean hasSubtaskID(int id) {
+        return subtasksID.contains(id);
     }
 
-    public void addSubtaskID(Integer id) {
+    public void forEachSubtaskID(IntConsumer action) {
+        subtasksID.forEach(action);
+    }
+
+    public void addSubtaskID(int id) {
         subtasksID.add(id);
     }
 
-    public void deleteSubtaskID(Integer id) {
+    public void deleteSubtaskID(int id) {
         subtasksID.remove(id);
     }
 
@@ -38,11 +79,21 @@ public class Epic extends Task {
     }
 
     public void setEndTime(LocalDateTime endTime) {
-        this.endTime = endTime;
+        this.endEpochNanos = EpochTime.of(endTime);
     }
 
+    public void setEndEpochNanos(long endEpochNanos) {
+        this.endEpochNanos = endEpochNanos;
+    }
+
+    @Override
     public LocalDateTime getEndTime() {
-        return endTime;
+        return EpochTime.toDateTime(endEpochNanos);
+    }
+
+    @Override
+    public long getEndEpochNanos() {
+        return endEpochNanos;
     }
 
     @Override
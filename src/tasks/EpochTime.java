@@ -0,0 +1,148 @@
+package tasks;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public final class EpochTime {
+    public static final long NONE = Long.MIN_VALUE;
+    public static final LocalDateTime MIN = toDateTime(NONE + 1);
+    public static final LocalDateTime MAX = toDateTime(Long.MAX_VALUE);
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private EpochTime() {
+    }
+
+    public static long of(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NONE;
+        }
+        if (dateTime.isBefore(MIN) || dateTime.isAfter(MAX)) {
+            throw new IllegalArgumentException("Время " + dateTime + " вне допустимого диапазона с " + MIN
+                    + " по " + MAX + ".");
+        }
+
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        long nanos = dateTime.getNano();
+        if (seconds < 0 && nanos > 0) {
+            seconds++;
+            nanos -= NANOS_PER_SECOND;
+        }
+        return seconds * NANOS_PER_SECOND + nanos;
+    }
+
+    public static long of(Duration duration) {
+        if (duration == null) {
+            return NONE;
+        }
+
+        long nanos;
+        try {
+            nanos = duration.toNanos();
+        } catch (ArithmeticException exception) {
+            nanos = NONE;
+        }
+        if (nanos == NONE) {
+            throw new IllegalArgumentException("Продолжительность " + duration + " вне допустимого диапазона.");
+        }
+        return nanos;
+    }
+
+    public static long clamp(LocalDateTime dateTime) {
+        if (dateTime.isBefore(MIN)) {
+            return NONE + 1;
+        }
+        if (dateTime.isAfter(MAX)) {
+            return Long.MAX_VALUE;
+        }
+        return of(dateTime);
+    }
+
+    public static long clamp(Duration duration) {
+        try {
+            long nanos = duration.toNanos();
+            return nanos == NONE ? NONE + 1 : nanos;
+        } catch (ArithmeticException exception) {
+            return duration.isNegative() ? NONE + 1 : Long.MAX_VALUE;
+        }
+    }
+
+    public static void checkEnd(long startNanos, long durationNanos) {
+        if (startNanos == NONE || durationNanos == NONE) {
+            return;
+        }
+
+        long end = startNanos + durationNanos;
+        if (((startNanos ^ end) & (durationNanos ^ end)) < 0 || end == NONE) {
+            throw new IllegalArgumentException("Время окончания задачи вне допустимого диапазона.");
+        }
+    }
+
+    public static LocalDateTime toDateTime(long epochNanos) {
+        if (epochNanos == NONE) {
+            return null;
+        }
+
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    public static Duration toDuration(long nanos) {
+        return nanos == NONE ? null : Duration.ofNanos(nanos);
+    }
+
+    static class DateTimeAdapterFactory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            TypeAdapter<LocalDateTime> delegate = gson.getAdapter(LocalDateTime.class);
+            return (TypeAdapter<T>) new TypeAdapter<Long>() {
+                @Override
+                public void write(JsonWriter jsonWriter, Long epochNanos) throws IOException {
+                    delegate.write(jsonWriter, toDateTime(epochNanos));
+                }
+
+                @Override
+                public Long read(JsonReader jsonReader) throws IOException {
+                    if (jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                        return NONE;
+                    }
+                    return of(delegate.read(jsonReader));
+                }
+            };
+        }
+    }
+
+    static class DurationAdapterFactory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            TypeAdapter<Duration> delegate = gson.getAdapter(Duration.class);
+            return (TypeAdapter<T>) new TypeAdapter<Long>() {
+                @Override
+                public void write(JsonWriter jsonWriter, Long nanos) throws IOException {
+                    delegate.write(jsonWriter, toDuration(nanos));
+                }
+
+                @Override
+                public Long read(JsonReader jsonReader) throws IOException {
+                    if (jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                        return NONE;
+                    }
+                    return of(delegate.read(jsonReader));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package tasks;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public final class IntIdSet {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] elements = EMPTY;
+    private int[] slots = EMPTY;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс " + index + " вне диапазона 0.." + (size - 1));
+        }
+        return elements[index];
+    }
+
+    public boolean contains(int id) {
+        return findSlot(id) >= 0;
+    }
+
+    public boolean add(int id) {
+        if (contains(id)) {
+            return false;
+        }
+
+        if (size == elements.length) {
+            grow();
+        }
+
+        elements[size] = id;
+        insertSlot(id, size);
+        size++;
+        return true;
+    }
+
+    public boolean remove(int id) {
+        int slot = findSlot(id);
+        if (slot < 0) {
+            return false;
+        }
+
+        int position = slots[slot] - 1;
+        deleteSlot(slot);
+        size--;
+
+        if (position != size) {
+            int movedId = elements[size];
+            elements[position] = movedId;
+            slots[findSlot(movedId)] = position + 1;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private int findSlot(int id) {
+        if (slots.length == 0) {
+            return -1;
+        }
+
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        while (slots[slot] != 0) {
+            if (elements[slots[slot] - 1] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void insertSlot(int id, int position) {
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = position + 1;
+    }
+
+    private void deleteSlot(int freeSlot) {
+        int mask = slots.length - 1;
+        int slot = freeSlot;
+        slots[freeSlot] = 0;
+
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (slots[slot] == 0) {
+                return;
+            }
+
+            int home = hash(elements[slots[slot] - 1]) & mask;
+            boolean canMove = freeSlot <= slot
+                    ? home <= freeSlot || home > slot
+                    : home <= freeSlot && home > slot;
+
+            if (canMove) {
+                slots[freeSlot] = slots[slot];
+                slots[slot] = 0;
+                freeSlot = slot;
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = elements.length == 0 ? 4 : elements.length << 1;
+        elements = Arrays.copyOf(elements, capacity);
+        slots = new int[capacity << 1];
+
+        for (int i = 0; i < size; i++) {
+            insertSlot(elements[i], i);
+        }
+    }
+
+    private static int hash(int id) {
+        return id ^ (id >>> 16);
+    }
+}
@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 
 public class Subtask extends Task {
     @Expose
-    private final Integer epicID;
+    private final int epicID;
+
+    private Subtask() {
+        this.epicID = 0;
+    }
 
     public Subtask(int epicID, String name, String description, TaskStatus status) {
         super(name, description, status);
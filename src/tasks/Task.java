@@ -1,6 +1,8 @@
 package tasks;
 
 import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -16,24 +18,31 @@ public class Task {
     @Expose
     protected TaskStatus status;
     @Expose
-    protected Duration duration;
+    @SerializedName("duration")
+    @JsonAdapter(EpochTime.DurationAdapterFactory.class)
+    protected long durationNanos = EpochTime.NONE;
     @Expose
-    protected LocalDateTime startTime;
+    @SerializedName("startTime")
+    @JsonAdapter(EpochTime.DateTimeAdapterFactory.class)
+    protected long startEpochNanos = EpochTime.NONE;
+    @Expose
+    protected long version;
+
+    protected Task() {
+    }
 
     public Task(String name, String description, TaskStatus status) {
         this.id = -1;
-        this.name = name;
-        this.description = description;
+        this.name = dedupe(name);
+        this.description = dedupe(description);
         this.status = status;
     }
 
     public Task(String name, String description, TaskStatus status, LocalDateTime startTime, Duration duration) {
-        this.id = -1;
-        this.name = name;
-        this.description = description;
-        this.status = status;
-        this.startTime = startTime;
-        this.duration = duration;
+        this(name, description, status);
+        this.startEpochNanos = EpochTime.of(startTime);
+        this.durationNanos = EpochTime.of(duration);
+        EpochTime.checkEnd(startEpochNanos, durationNanos);
     }
 
     public Task(int id, String name, String description, TaskStatus status, LocalDateTime startTime, Duration duration) {
@@ -42,23 +51,50 @@ public class Task {
     }
 
     public void setDuration(Duration duration) {
-        this.duration = duration;
+        long nanos = EpochTime.of(duration);
+        EpochTime.checkEnd(startEpochNanos, nanos);
+        this.durationNanos = nanos;
     }
 
     public void setStartTime(LocalDateTime startTime) {
-        this.startTime = startTime;
+        long nanos = EpochTime.of(startTime);
+        EpochTime.checkEnd(nanos, durationNanos);
+        this.startEpochNanos = nanos;
+    }
+
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public void setStartEpochNanos(long startEpochNanos) {
+        this.startEpochNanos = startEpochNanos;
     }
 
     public Duration getDuration() {
-        return duration;
+        return EpochTime.toDuration(durationNanos);
     }
 
     public LocalDateTime getStartTime() {
-        return startTime;
+        return EpochTime.toDateTime(startEpochNanos);
     }
 
     public LocalDateTime getEndTime() {
-        return (startTime != null && duration != null) ? startTime.plus(duration) : null;
+        return EpochTime.toDateTime(getEndEpochNanos());
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        if (startEpochNanos == EpochTime.NONE || durationNanos == EpochTime.NONE) {
+            return EpochTime.NONE;
+        }
+        return startEpochNanos + durationNanos;
     }
 
     public int getID() {
@@ -69,6 +105,14 @@ public class Task {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -86,11 +130,11 @@ public class Task {
     }
 
     public void setName(String name) {
-        this.name = name;
+        this.name = dedupe(name);
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        this.description = dedupe(description);
     }
 
     @Override
@@ -106,6 +150,10 @@ public class Task {
         return Objects.hash(id);
     }
 
+    private static String dedupe(String text) {
+        return text == null ? null : text.intern();
+    }
+
     @Override
     public String toString() {
         return String.format("%d,%s,%s,%s,%s,%s,%s",
@@ -0,0 +1,114 @@
+package server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import exceptions.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import taskmanagers.InMemoryTaskManager;
+import taskmanagers.TaskManager;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArchiveHandlerTest {
+
+    private TaskManager taskManager;
+    private HttpTaskServer taskServer;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        taskManager = new InMemoryTaskManager();
+        taskServer = new HttpTaskServer(taskManager);
+        client = HttpClient.newHttpClient();
+        taskServer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskServer.stop();
+    }
+
+    @Test
+    public void testArchiveDoneTasks() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 0);
+        int doneId = taskManager.addTask(new Task("Готовая", "Описание", TaskStatus.DONE, start,
+                Duration.ofMinutes(60)));
+        int newId = taskManager.addTask(new Task("Новая", "Описание", TaskStatus.NEW, start.plusHours(2),
+                Duration.ofMinutes(60)));
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/archive?olderThan=0"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        assertEquals(200, response.statusCode(), "Неверный код ответа при архивации.");
+        JsonObject result = JsonParser.parseString(response.body()).getAsJsonObject();
+        assertEquals(1, result.get("archived").getAsInt(), "Неверное число архивированных задач.");
+        assertThrows(NotFoundException.class, () -> taskManager.getTask(doneId),
+                "Архивированная задача осталась среди активных.");
+        assertEquals(newId, taskManager.getTask(newId).getID(), "Незавершённая задача была архивирована.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/archive/" + doneId)).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Неверный код ответа при получении задачи из архива.");
+        assertEquals("Готовая", JsonParser.parseString(response.body()).getAsJsonObject().get("name").getAsString(),
+                "Неверная задача в архиве.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/archive?limit=10")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        JsonArray page = JsonParser.parseString(response.body()).getAsJsonArray();
+        assertEquals(1, page.size(), "Неверный размер страницы архива.");
+    }
+
+    @Test
+    public void testArchiveRejectsBadQuery() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/archive?olderThan=abc"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, response.statusCode(), "Некорректный возраст не отклонён.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/archive?olderThan=" + Long.MAX_VALUE))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, response.statusCode(), "Непредставимый возраст не отклонён.");
+
+        taskManager.addTask(new Task("Готовая", "Описание", TaskStatus.DONE, LocalDateTime.of(2025, 6, 2, 9, 0), null));
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/archive?olderThan=1000000000000"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Возраст больше допустимого диапазона должен приниматься.");
+        assertEquals(0, JsonParser.parseString(response.body()).getAsJsonObject().get("archived").getAsInt(),
+                "Слишком большой возраст не должен ничего архивировать.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/archive/42")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(404, response.statusCode(), "Отсутствующая задача найдена в архиве.");
+    }
+}
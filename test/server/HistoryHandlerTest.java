@@ -1,6 +1,8 @@
 package server;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import taskmanagers.InMemoryTaskManager;
 import taskmanagers.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -16,6 +18,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -68,6 +71,171 @@ public class HistoryHandlerTest {
         assertEquals(2, history.size(), "История должна содержать 2 задачи.");
     }
 
+    @Test
+    public void testGetHistoryAndPrioritizedPages() throws IOException, InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание", TaskStatus.NEW,
+                    LocalDateTime.now().plusHours(4 - i), Duration.ofMinutes(30)));
+        }
+        taskManager.getTask(4);
+        taskManager.getTask(2);
+        taskManager.getTask(3);
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/history?after=4&limit=1")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Неверный код ответа при запросе страницы истории.");
+        Task[] historyPage = gson.fromJson(response.body(), Task[].class);
+        assertEquals(1, historyPage.length, "На странице истории должна быть одна задача.");
+        assertEquals(2, historyPage[0].getID(), "Страница истории должна продолжаться после курсора.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/prioritized?after=3&limit=5")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Неверный код ответа при запросе страницы приоритетов.");
+        Task[] prioritizedPage = gson.fromJson(response.body(), Task[].class);
+        assertEquals(2, prioritizedPage.length, "После третьей задачи по времени идут две задачи.");
+        assertEquals(2, prioritizedPage[0].getID(), "Порядок должен совпадать со временем начала.");
+        assertEquals(1, prioritizedPage[1].getID(), "Порядок должен совпадать со временем начала.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/history?after=1")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(404, response.statusCode(), "Курсор вне истории должен давать 404.");
+    }
+
+    @Test
+    public void testGetPrioritizedTimeRange() throws IOException, InterruptedException {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 0, 0);
+        for (int i = 0; i < 4; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание", TaskStatus.NEW,
+                    day.plusHours(6L * i), Duration.ofMinutes(30)));
+        }
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create(
+                        "http://localhost:8080/prioritized?from=2025-06-02T05:00&to=2025-06-02T19:00&limit=1"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Неверный код ответа при запросе интервала.");
+        Task[] range = gson.fromJson(response.body(), Task[].class);
+        assertEquals(1, range.length, "Интервал должен быть ограничен параметром limit.");
+        assertEquals(2, range[0].getID(), "Первой в интервале должна быть задача, начинающаяся в 6:00.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/prioritized?from=2025-06-02T07:00"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(2, gson.fromJson(response.body(), Task[].class).length,
+                "После 7:00 должны начинаться две задачи.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/prioritized?to=2025-06-02T07:00"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, response.statusCode(), "Интервал без начала должен давать 400.");
+    }
+
+    @Test
+    public void testGetWholeTimeRangeWithoutLimit() throws IOException, InterruptedException {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 0, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            tasks.add(new Task("Задача " + i, "Описание", TaskStatus.NEW, day.plusMinutes(5L * i),
+                    Duration.ofMinutes(5)));
+        }
+        taskManager.addTasks(tasks);
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create(
+                        "http://localhost:8080/prioritized?from=2025-06-02T00:00&to=2025-06-03T00:00"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(150, gson.fromJson(response.body(), Task[].class).length,
+                "Без limit интервал должен возвращаться целиком.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/prioritized?from=2025-06-02T00:00"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(150, gson.fromJson(response.body(), Task[].class).length,
+                "Без limit все задачи после начала должны возвращаться целиком.");
+    }
+
+    @Test
+    public void testGetTimeRangeOutsideSupportedDates() throws IOException, InterruptedException {
+        taskManager.addTask(new Task("Задача", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 2, 9, 0), Duration.ofMinutes(60)));
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create(
+                        "http://localhost:8080/prioritized?from=3000-01-01T00:00&to=3001-01-01T00:00"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(204, response.statusCode(), "Интервал вне допустимого диапазона должен быть пустым.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/prioritized?from=1600-01-01T00:00"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Дата до начала диапазона должна ограничиваться его границей.");
+        assertEquals(1, JsonParser.parseString(response.body()).getAsJsonArray().size(),
+                "Задача должна попасть в выборку.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create(
+                        "http://localhost:8080/prioritized/free-slot?duration=30&notBefore=3000-01-01T00:00"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Окно после диапазона должно находиться.");
+        assertEquals("01.01.3000 00:00", JsonParser.parseString(response.body()).getAsJsonObject()
+                .get("startTime").getAsString(), "Окно должно начинаться с запрошенного момента.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create(
+                        "http://localhost:8080/prioritized/free-slot?duration=" + Long.MAX_VALUE))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, response.statusCode(), "Непредставимая длительность должна давать 400.");
+    }
+
+    @Test
+    public void testGetFreeSlot() throws IOException, InterruptedException {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 9, 0);
+        taskManager.addTask(new Task("Задача", "Описание", TaskStatus.NEW, day, Duration.ofMinutes(60)));
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create(
+                        "http://localhost:8080/prioritized/free-slot?duration=30&notBefore=2025-06-02T09:15"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Неверный код ответа при поиске свободного окна.");
+        JsonObject slot = JsonParser.parseString(response.body()).getAsJsonObject();
+        assertEquals("02.06.2025 10:00", slot.get("startTime").getAsString(),
+                "Свободное окно должно начинаться после задачи.");
+        assertEquals("02.06.2025 10:30", slot.get("endTime").getAsString(), "Неверное окончание окна.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/prioritized/free-slot"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, response.statusCode(), "Без длительности запрос некорректен.");
+    }
+
     @Test
     public void testGetEmptyHistory() throws IOException, InterruptedException {
         HttpResponse<String> response = client.send(
@@ -0,0 +1,84 @@
+package server;
+
+import com.google.gson.Gson;
+import taskmanagers.InMemoryTaskManager;
+import taskmanagers.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tasks.Epic;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SearchHandlerTest {
+
+    private TaskManager taskManager;
+    private HttpTaskServer taskServer;
+    private Gson gson;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        taskManager = new InMemoryTaskManager();
+        taskServer = new HttpTaskServer(taskManager);
+        gson = HttpTaskServer.getGson();
+        client = HttpClient.newHttpClient();
+        taskServer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskServer.stop();
+    }
+
+    private HttpResponse<String> sendSearchRequest(String query) throws IOException, InterruptedException {
+        String url = "http://localhost:8080/search?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testSearchByWordsInNameAndDescription() throws IOException, InterruptedException {
+        taskManager.addTask(new Task("Купить молоко", "Зайти в магазин после работы", TaskStatus.NEW,
+                LocalDateTime.now(), Duration.ofMinutes(30)));
+        taskManager.addTask(new Task("Починить кран", "Вызвать мастера", TaskStatus.NEW,
+                LocalDateTime.now().plusHours(1), Duration.ofMinutes(30)));
+        taskManager.addEpic(new Epic("Переезд", "Собрать вещи и зайти в магазин за коробками"));
+
+        HttpResponse<String> response = sendSearchRequest("магазин");
+        assertEquals(200, response.statusCode(), "Неверный код ответа при поиске.");
+        assertEquals(2, gson.fromJson(response.body(), Task[].class).length,
+                "Слово встречается в описаниях задачи и эпика.");
+
+        response = sendSearchRequest("Магазин, МОЛОКО");
+        Task[] found = gson.fromJson(response.body(), Task[].class);
+        assertEquals(1, found.length, "Все слова запроса должны встречаться в задаче.");
+        assertEquals("Купить молоко", found[0].getName(), "Найдена не та задача.");
+
+        taskManager.updateTask(new Task(1, "Купить хлеб", "Зайти в пекарню", TaskStatus.NEW,
+                LocalDateTime.now(), Duration.ofMinutes(30)));
+        response = sendSearchRequest("молоко");
+        assertEquals(204, response.statusCode(), "После обновления старые слова не должны находиться.");
+    }
+
+    @Test
+    public void testSearchWithoutQuery() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/search")).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, response.statusCode(), "Поиск без запроса должен давать 400.");
+    }
+}
@@ -0,0 +1,102 @@
+package server;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import taskmanagers.InMemoryTaskManager;
+import taskmanagers.TaskManager;
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StatsHandlerTest {
+
+    private TaskManager taskManager;
+    private HttpTaskServer taskServer;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        taskManager = new InMemoryTaskManager();
+        taskServer = new HttpTaskServer(taskManager);
+        client = HttpClient.newHttpClient();
+        taskServer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskServer.stop();
+    }
+
+    @Test
+    public void testGetStats() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 0);
+        taskManager.addTask(new Task("Задача", "Описание", TaskStatus.DONE, start, Duration.ofMinutes(60)));
+        int epicId = taskManager.addEpic(new Epic("Эпик", "Описание"));
+        taskManager.addSubtask(new Subtask(epicId, "Первая", "Описание", TaskStatus.DONE,
+                start.plusHours(2), Duration.ofMinutes(30)));
+        taskManager.addSubtask(new Subtask(epicId, "Вторая", "Описание", TaskStatus.NEW,
+                start.plusHours(3), Duration.ofMinutes(30)));
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/stats")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        assertEquals(200, response.statusCode(), "Неверный код ответа при получении статистики.");
+        JsonObject stats = JsonParser.parseString(response.body()).getAsJsonObject();
+        JsonObject counts = stats.getAsJsonObject("counts");
+        assertEquals(1, counts.getAsJsonObject("TASK").get("DONE").getAsInt(), "Неверное число задач.");
+        assertEquals(1, counts.getAsJsonObject("EPIC").get("IN_PROGRESS").getAsInt(), "Неверное число эпиков.");
+        assertEquals(1, counts.getAsJsonObject("SUBTASK").get("NEW").getAsInt(), "Неверное число подзадач.");
+        assertEquals(120, stats.get("scheduledDuration").getAsInt(), "Неверная суммарная длительность.");
+
+        JsonObject progress = stats.getAsJsonArray("epics").get(0).getAsJsonObject();
+        assertEquals(epicId, progress.get("epicId").getAsInt(), "Неверный эпик в прогрессе.");
+        assertEquals(50, progress.get("percentDone").getAsInt(), "Неверный процент выполнения эпика.");
+    }
+
+    @Test
+    public void testGetTotalDuration() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 0);
+        taskManager.addTask(new Task("Первая", "Описание", TaskStatus.DONE, start, Duration.ofMinutes(60)));
+        taskManager.addTask(new Task("Вторая", "Описание", TaskStatus.DONE, start.plusHours(2),
+                Duration.ofMinutes(45)));
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/stats/duration?type=TASK&status=DONE"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode(), "Неверный код ответа при получении длительности.");
+        assertEquals(105, JsonParser.parseString(response.body()).getAsJsonObject().get("totalDuration").getAsInt(),
+                "Неверная суммарная длительность.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/stats/duration?type=TASK"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, response.statusCode(), "Без статуса запрос должен давать 400.");
+
+        response = client.send(
+                HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/stats/duration?type=BUG&status=DONE"))
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, response.statusCode(), "Неизвестный тип должен давать 400.");
+    }
+}
@@ -50,6 +50,16 @@ public class TaskHandlerTest {
         return client.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
+    private HttpResponse<String> sendPostRequest(String url, String jsonBody, String ifMatch)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("If-Match", ifMatch)
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
     private HttpResponse<String> sendGetRequest(String url) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
         return client.send(request, HttpResponse.BodyHandlers.ofString());
@@ -75,6 +85,17 @@ public class TaskHandlerTest {
         assertEquals("Тестовая задача", tasks.getFirst().getName(), "Имя задачи не совпадает.");
     }
 
+    @Test
+    public void testAddTaskOutsideSupportedDates() throws IOException, InterruptedException {
+        String taskJson = gson.toJson(new Task("Тестовая задача", "Описание задачи", TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofMinutes(5)))
+                .replace("01.01.2025", "01.01.2300");
+
+        HttpResponse<String> response = sendPostRequest("http://localhost:8080/tasks", taskJson);
+        assertEquals(400, response.statusCode(), "Дата вне допустимого диапазона должна давать 400.");
+        assertTrue(taskManager.getTasksList().isEmpty(), "Задача не должна быть добавлена.");
+    }
+
     @Test
     public void testGetAllTasks() throws IOException, InterruptedException {
         taskManager.addTask(new Task("Задача 1", "Описание 1", TaskStatus.NEW,
@@ -90,6 +111,49 @@ public class TaskHandlerTest {
         assertEquals(2, tasks.size(), "Количество задач должно быть равно 2.");
     }
 
+    @Test
+    public void testGetTasksPage() throws IOException, InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание", TaskStatus.NEW,
+                    LocalDateTime.now().plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        HttpResponse<String> response = sendGetRequest("http://localhost:8080/tasks?after=2&limit=2");
+        assertEquals(200, response.statusCode(), "Неверный код ответа при запросе страницы задач.");
+
+        Task[] page = gson.fromJson(response.body(), Task[].class);
+        assertEquals(2, page.length, "На странице должно быть две задачи.");
+        assertEquals(3, page[0].getID(), "Страница должна начинаться после указанного id.");
+        assertEquals(4, page[1].getID(), "Задачи на странице должны идти по возрастанию id.");
+
+        response = sendGetRequest("http://localhost:8080/tasks?after=5");
+        assertEquals(204, response.statusCode(), "После последней задачи страница должна быть пустой.");
+
+        response = sendGetRequest("http://localhost:8080/tasks?limit=0");
+        assertEquals(400, response.statusCode(), "Нулевой размер страницы недопустим.");
+    }
+
+    @Test
+    public void testGetTasksByStatus() throws IOException, InterruptedException {
+        taskManager.addTask(new Task("Задача 1", "Описание 1", TaskStatus.NEW,
+                LocalDateTime.now(), Duration.ofMinutes(30)));
+        taskManager.addTask(new Task("Задача 2", "Описание 2", TaskStatus.DONE,
+                LocalDateTime.now().plusHours(1), Duration.ofMinutes(45)));
+
+        HttpResponse<String> response = sendGetRequest("http://localhost:8080/tasks?status=DONE");
+        assertEquals(200, response.statusCode(), "Неверный код ответа при фильтрации по статусу.");
+
+        Task[] doneTasks = gson.fromJson(response.body(), Task[].class);
+        assertEquals(1, doneTasks.length, "Выполненной должна быть одна задача.");
+        assertEquals("Задача 2", doneTasks[0].getName(), "Отфильтрована не та задача.");
+
+        response = sendGetRequest("http://localhost:8080/tasks?status=IN_PROGRESS");
+        assertEquals(204, response.statusCode(), "Задач в работе нет.");
+
+        response = sendGetRequest("http://localhost:8080/tasks?status=UNKNOWN");
+        assertEquals(400, response.statusCode(), "Неизвестный статус должен давать 400.");
+    }
+
     @Test
     public void testGetTaskById() throws IOException, InterruptedException {
         taskManager.addTask(new Task("Задача 1", "Описание 1",
@@ -127,6 +191,26 @@ public class TaskHandlerTest {
         assertEquals("Обновленная задача", task.getName(), "Имя задачи не совпадает после обновления.");
     }
 
+    @Test
+    public void testUpdateTaskWithIfMatch() throws IOException, InterruptedException {
+        int taskId = taskManager.addTask(new Task("Задача 1", "Описание 1", TaskStatus.NEW,
+                LocalDateTime.now(), Duration.ofMinutes(30)));
+        Task updatedTask = new Task(taskId, "Обновленная задача", "Обновленное описание",
+                TaskStatus.IN_PROGRESS, LocalDateTime.now(), Duration.ofMinutes(45));
+        String taskJson = gson.toJson(updatedTask);
+
+        HttpResponse<String> response = sendPostRequest("http://localhost:8080/tasks", taskJson, "\"1\"");
+        assertEquals(201, response.statusCode(), "Совпадающая версия должна принимать обновление.");
+        assertEquals(2, taskManager.getTask(taskId).getVersion(), "Версия задачи должна увеличиться.");
+
+        response = sendPostRequest("http://localhost:8080/tasks", taskJson, "1");
+        assertEquals(409, response.statusCode(), "Устаревшая версия должна приводить к конфликту.");
+        assertEquals(2, taskManager.getTask(taskId).getVersion(), "Конфликт не должен менять задачу.");
+
+        response = sendPostRequest("http://localhost:8080/tasks", taskJson, "abc");
+        assertEquals(400, response.statusCode(), "Некорректный заголовок If-Match.");
+    }
+
     @Test
     public void testDeleteTaskById() throws IOException, InterruptedException {
         taskManager.addTask(new Task("Задача 1", "Описание 1",
@@ -0,0 +1,77 @@
+package taskmanagers;
+
+import org.junit.jupiter.api.Test;
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarTaskManagerTest extends TaskManagerTest<ColumnarTaskManager> {
+
+    @Override
+    protected ColumnarTaskManager createTaskManager() {
+        return ColumnarTaskManager.create();
+    }
+
+    @Test
+    void shouldAggregateLargeBoardInParallelScans() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.JANUARY, 1, 0, 0);
+        int count = TaskColumns.SCAN_THRESHOLD * 3;
+        List<Task> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Task("Задача " + i, "Описание", TaskStatus.values()[i % 3],
+                    start.plusMinutes(i * 10L), Duration.ofMinutes(5)));
+        }
+        List<Integer> ids = taskManager.addTasks(batch);
+        taskManager.deleteTask(ids.get(0));
+        taskManager.updateTask(new Task(ids.get(1), "Задача 1", "Описание", TaskStatus.DONE,
+                start.plusMinutes(10), Duration.ofMinutes(8)));
+
+        Map<TaskStatus, Integer> counts = taskManager.countByStatus(TaskType.TASK);
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(taskManager.getTasksByStatus(status).size(), counts.get(status),
+                    "Подсчёт по столбцам должен совпадать с индексом статусов.");
+        }
+
+        Duration expected = Duration.ZERO;
+        for (Task task : taskManager.getTasksByStatus(TaskStatus.DONE)) {
+            expected = expected.plus(task.getDuration());
+        }
+        assertEquals(expected, taskManager.getTotalDuration(TaskType.TASK, TaskStatus.DONE),
+                "Суммарная длительность должна совпадать с задачами.");
+
+        LocalDateTime from = start.plusMinutes(12);
+        LocalDateTime to = start.plusMinutes(35);
+        assertEquals(taskManager.getPrioritizedTasks(from, to).stream().map(Task::getID).sorted().toList(),
+                taskManager.findIdsInWindow(from, to), "Окно должно совпадать со списком приоритетов.");
+    }
+
+    @Test
+    void shouldTrackSubtasksAndEpicsInColumns() {
+        int epicId = taskManager.addEpic(new Epic("Эпик", "Описание"));
+        int subtaskId = taskManager.addSubtask(new Subtask(epicId, "Подзадача", "Описание", TaskStatus.DONE,
+                LocalDateTime.of(2025, Month.MARCH, 1, 10, 0), Duration.ofMinutes(45)));
+
+        assertEquals(1, taskManager.countByStatus(TaskType.EPIC).get(TaskStatus.DONE),
+                "Статус эпика должен обновляться в столбцах.");
+        assertEquals(Duration.ofMinutes(45), taskManager.getTotalDuration(TaskType.EPIC, TaskStatus.DONE),
+                "Длительность эпика должна обновляться в столбцах.");
+        assertEquals(List.of(subtaskId), taskManager.findIdsInWindow(LocalDateTime.of(2025, Month.MARCH, 1, 0, 0),
+                LocalDateTime.of(2025, Month.MARCH, 2, 0, 0)), "Эпики не должны попадать в окно.");
+
+        taskManager.deleteEpic(epicId);
+        assertEquals(0, taskManager.countByStatus(TaskType.SUBTASK).get(TaskStatus.DONE),
+                "Подзадачи должны удаляться из столбцов вместе с эпиком.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.countByStatus(null));
+    }
+}
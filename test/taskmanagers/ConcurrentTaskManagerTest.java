@@ -0,0 +1,85 @@
+package taskmanagers;
+
+import org.junit.jupiter.api.Test;
+import tasks.Epic;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+
+    @Override
+    protected ConcurrentTaskManager createTaskManager() {
+        return new ConcurrentTaskManager(new InMemoryTaskManager());
+    }
+
+    @Test
+    void shouldKeepAllTasksAddedFromSeveralThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, Month.FEBRUARY, 1, 0, 0);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime taskStart = start.plusHours(i);
+            futures.add(executor.submit(() -> {
+                taskManager.addTask(new Task("Задача", "Описание", TaskStatus.NEW,
+                        taskStart, Duration.ofMinutes(30)));
+                taskManager.getPrioritizedTasks();
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(200, taskManager.getTasksList().size(), "Все задачи должны быть добавлены.");
+        assertEquals(200, taskManager.getPrioritizedTasks().size(), "Все задачи должны быть в списке приоритетов.");
+    }
+
+    @Test
+    void shouldRecordHistoryFromConcurrentReads() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, Month.FEBRUARY, 1, 0, 0);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(taskManager.addTask(new Task("Задача", "Описание", TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(30))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int id : ids) {
+            futures.add(executor.submit(() -> taskManager.getTask(id)));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100, taskManager.getHistory().size(), "Все просмотры должны попасть в историю.");
+    }
+
+    @Test
+    void shouldReturnDetachedEpics() {
+        int epicId = taskManager.addEpic(new Epic("Эпик", "Описание"));
+
+        Epic epic = taskManager.getEpic(epicId);
+        epic.setStatus(TaskStatus.DONE);
+        epic.addSubtaskID(42);
+
+        Epic stored = taskManager.getEpicsList().getFirst();
+        assertEquals(TaskStatus.NEW, stored.getStatus(), "Изменение копии не должно затрагивать эпик менеджера.");
+        assertEquals(0, stored.getSubtasksCount(), "Изменение копии не должно затрагивать подзадачи эпика.");
+    }
+}
@@ -3,6 +3,7 @@ package taskmanagers;
 import static org.junit.jupiter.api.Assertions.*;
 
 import exceptions.ManagerSaveException;
+import exceptions.VersionConflictException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.stream.Stream;
 import java.time.Duration;
@@ -82,6 +84,7 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
     @AfterAll
     static void afterAll() throws IOException {
         Files.delete(FILE_PATH);
+        Files.deleteIfExists(FileBackedTaskManager.archiveFileFor(FILE_PATH.toFile()).toPath());
     }
 
     @Test
@@ -188,4 +191,100 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         assertEquals(subtask3, loadedManager.getSubtasksList().getLast(), "Подзадача должна совпадать.");
         assertEquals(subtask3.getEpicID(), epic2.getID(), "Подзадача не привязана.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadingShouldNotRewriteFile() throws IOException {
+        operationsWithTasksAndPopulateManager(fileBackedTaskManager);
+        FileTime savedAt = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(FILE_PATH, savedAt);
+        String savedContent = Files.readString(FILE_PATH);
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(file);
+
+        assertEquals(5, loadedManager.getTasksList().size() + loadedManager.getEpicsList().size()
+                + loadedManager.getSubtasksList().size(), "Все задачи должны быть загружены.");
+        assertEquals(savedAt, Files.getLastModifiedTime(FILE_PATH), "Загрузка не должна перезаписывать файл.");
+        assertEquals(savedContent, Files.readString(FILE_PATH), "Содержимое файла не должно меняться.");
+    }
+
+    @Test
+    void shouldContinueIdsAfterLoadedTasks() {
+        operationsWithTasksAndPopulateManager(fileBackedTaskManager);
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(file);
+        int maxId = loadedManager.getSubtasksList().stream().mapToInt(Task::getID).max().orElseThrow();
+
+        int newId = loadedManager.addEpic(new Epic("Новый эпик", "Описание"));
+
+        assertTrue(newId > maxId, "Новый id не должен совпадать с загруженными.");
+    }
+
+    @Test
+    void shouldSaveTransactionOnlyAfterCommit() throws IOException {
+        fileBackedTaskManager.addTask(task1);
+        String savedBefore = Files.readString(FILE_PATH);
+
+        assertThrows(RuntimeException.class, () -> fileBackedTaskManager.executeInTransaction(manager -> {
+            manager.deleteTask(1);
+            manager.addTask(task2);
+            assertEquals(savedBefore, readFile(), "Файл не должен меняться до завершения транзакции.");
+            manager.deleteTask(99);
+        }));
+        assertEquals(savedBefore, Files.readString(FILE_PATH), "Откат не должен менять файл.");
+
+        fileBackedTaskManager.executeInTransaction(manager -> manager.addTask(task2));
+        assertEquals(2, FileBackedTaskManager.loadFromFile(file).getTasksList().size(),
+                "Зафиксированная транзакция должна быть сохранена.");
+    }
+
+    private String readFile() {
+        try {
+            return Files.readString(FILE_PATH);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Test
+    void loadingArchivedTasks() {
+        int archivedId = fileBackedTaskManager.addTask(task2);
+        fileBackedTaskManager.addTask(task1);
+        fileBackedTaskManager.archiveDoneTasks(Duration.ZERO);
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(file);
+
+        assertEquals(1, loadedManager.getTasksList().size(), "Архивированная задача не должна загружаться в доску.");
+        assertEquals(fileBackedTaskManager.getArchivedTask(archivedId), loadedManager.getArchivedTask(archivedId),
+                "Задача из архива должна совпадать.");
+        assertTrue(loadedManager.addTask(new Task("Третий таск", "Описание 3", TaskStatus.NEW,
+                LocalDateTime.of(2025, Month.FEBRUARY, 1, 10, 0), Duration.ofMinutes(60))) > archivedId,
+                "Идентификаторы архива не должны выдаваться повторно.");
+    }
+
+    @Test
+    void loadingShouldRestoreVersions() throws IOException {
+        int taskId = fileBackedTaskManager.addTask(task1);
+        int epicId = fileBackedTaskManager.addEpic(epic1);
+        int subtaskId = fileBackedTaskManager.addSubtask(new Subtask(epicId, "Подзадача", "Описание",
+                TaskStatus.NEW, LocalDateTime.of(2025, Month.APRIL, 1, 9, 0), Duration.ofMinutes(30)));
+        for (int i = 0; i < 2; i++) {
+            fileBackedTaskManager.updateTask(new Task(taskId, "Таск " + i, "Описание", TaskStatus.NEW,
+                    task1.getStartTime(), task1.getDuration()));
+        }
+        fileBackedTaskManager.updateEpic(new Epic(epicId, "Эпик", "Описание"));
+        fileBackedTaskManager.updateSubtask(new Subtask(subtaskId, epicId, "Подзадача", "Описание",
+                TaskStatus.DONE, LocalDateTime.of(2025, Month.APRIL, 1, 9, 0), Duration.ofMinutes(30)));
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(file);
+
+        assertEquals(3, loadedManager.getTask(taskId).getVersion(), "Версия задачи должна сохраняться.");
+        assertEquals(2, loadedManager.getEpic(epicId).getVersion(), "Версия эпика должна сохраняться.");
+        assertEquals(2, loadedManager.getSubtask(subtaskId).getVersion(), "Версия подзадачи должна сохраняться.");
+        assertThrows(VersionConflictException.class, () -> loadedManager.updateTask(new Task(taskId, "Таск",
+                "Описание", TaskStatus.NEW, task1.getStartTime(), task1.getDuration()), 1));
+
+        Files.writeString(FILE_PATH, "id,type,name,status,description,epic,start_time,duration\n"
+                + "7,TASK,Старый таск,NEW,Описание,2025-01-01T13:00,PT2H\n");
+        assertEquals(1, FileBackedTaskManager.loadFromFile(file).getTask(7).getVersion(),
+                "Файл без колонки версии должен загружаться с первой версией.");
+    }
+}
@@ -0,0 +1,131 @@
+package taskmanagers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdAllocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void atomicAllocatorShouldSkipObservedIds() {
+        IdAllocator allocator = new AtomicIdAllocator();
+
+        assertEquals(1, allocator.nextId());
+        allocator.observe(10);
+        assertEquals(11, allocator.nextId(), "Следующий id должен быть больше наблюдаемого.");
+        allocator.observe(5);
+        assertEquals(12, allocator.nextId(), "Меньший наблюдаемый id не должен сдвигать счётчик назад.");
+    }
+
+    @Test
+    void blockAllocatorShouldHandOutUniqueIdsAcrossThreads() throws Exception {
+        IdAllocator allocator = new BlockIdAllocator(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                List<Integer> ids = new ArrayList<>();
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(allocator.nextId());
+                }
+                return ids;
+            }));
+        }
+
+        Set<Integer> allIds = new HashSet<>();
+        for (Future<List<Integer>> future : futures) {
+            allIds.addAll(future.get());
+        }
+        executor.shutdown();
+
+        assertEquals(8000, allIds.size(), "Идентификаторы не должны повторяться.");
+    }
+
+    @Test
+    void blockAllocatorShouldNotLoseIdsWhenThreadsFinish() throws Exception {
+        IdAllocator allocator = new BlockIdAllocator(100);
+        List<Integer> ids = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            Thread worker = new Thread(() -> {
+                synchronized (ids) {
+                    ids.add(allocator.nextId());
+                }
+            });
+            worker.start();
+            worker.join();
+        }
+
+        assertEquals(List.of(1, 2, 3), ids, "Завершившиеся потоки не должны уносить с собой блоки id.");
+    }
+
+    @Test
+    void blockAllocatorShouldGiveLiveThreadsSeparateBlocks() throws Exception {
+        IdAllocator allocator = new BlockIdAllocator(100);
+        CountDownLatch otherThreadDone = new CountDownLatch(1);
+        CountDownLatch releaseOtherThread = new CountDownLatch(1);
+        int[] otherIds = new int[2];
+
+        assertEquals(1, allocator.nextId());
+        Thread worker = new Thread(() -> {
+            otherIds[0] = allocator.nextId();
+            otherIds[1] = allocator.nextId();
+            otherThreadDone.countDown();
+            try {
+                releaseOtherThread.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.start();
+        assertTrue(otherThreadDone.await(5, TimeUnit.SECONDS), "Второй поток должен получить id.");
+
+        assertEquals(2, allocator.nextId(), "Поток продолжает свой блок.");
+        releaseOtherThread.countDown();
+        worker.join();
+        assertArrayEquals(new int[]{101, 102}, otherIds, "Живой поток должен получить собственный блок.");
+    }
+
+    @Test
+    void blockAllocatorShouldDropHeldBlockAfterObservingLargerId() {
+        IdAllocator allocator = new BlockIdAllocator(100);
+
+        assertEquals(1, allocator.nextId());
+        allocator.observe(50);
+        assertEquals(101, allocator.nextId(), "Блок, содержащий наблюдаемый id, должен быть отброшен.");
+        assertEquals(102, allocator.nextId());
+    }
+
+    @Test
+    void fileBlockSourceShouldNotCollideBetweenNodes() throws Exception {
+        Path saveFile = tempDir.resolve("save.csv");
+        Path idsFile = FileBlockSource.nextTo(saveFile);
+        IdAllocator firstNode = new BlockIdAllocator(new FileBlockSource(idsFile), 10);
+        IdAllocator secondNode = new BlockIdAllocator(new FileBlockSource(idsFile), 10);
+
+        assertEquals(1, firstNode.nextId());
+        assertEquals(11, secondNode.nextId(), "Второй узел должен получить следующий блок.");
+        assertEquals(2, firstNode.nextId(), "Первый узел продолжает свой блок.");
+        assertEquals("21", Files.readString(idsFile), "Граница блоков должна сохраняться в файле.");
+
+        IdAllocator restartedNode = new BlockIdAllocator(new FileBlockSource(idsFile), 10);
+        assertEquals(21, restartedNode.nextId(), "После перезапуска блоки не должны повторяться.");
+    }
+}
@@ -99,4 +99,25 @@ public class InMemoryHistoryManagerTest {
         List<Task> history = historyManager.getHistory();
         assertEquals(0, history.size(), "История не пустая.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldEvictOldestWhenCapacityExceeded() {
+        HistoryManager boundedHistory = Managers.getDefaultHistory(2);
+        boundedHistory.add(task);
+        boundedHistory.add(epic);
+        boundedHistory.add(task);
+        boundedHistory.add(subtask);
+
+        assertEquals(List.of(task, subtask), boundedHistory.getHistory(),
+                "При переполнении должна вытесняться самая старая запись.");
+        assertEquals(List.of(subtask), boundedHistory.getHistory(task.getID(), 10),
+                "Вытесненная запись не должна участвовать в постраничном выводе.");
+
+        boundedHistory.remove(task.getID());
+        boundedHistory.add(epic);
+        assertEquals(List.of(subtask, epic), boundedHistory.getHistory(),
+                "После удаления освободившееся место должно переиспользоваться.");
+        assertThrows(IllegalArgumentException.class, () -> Managers.getDefaultHistory(0),
+                "Ёмкость истории должна быть положительной.");
+    }
+}
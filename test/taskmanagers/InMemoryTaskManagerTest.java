@@ -1,6 +1,22 @@
 package taskmanagers;
 
-import taskmanagers.InMemoryTaskManager;
+import exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import tasks.EpochTime;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
 
@@ -8,4 +24,123 @@ public class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager
     protected InMemoryTaskManager createTaskManager() {
         return new InMemoryTaskManager();
     }
-}
\ No newline at end of file
+
+    @Test
+    void viewsShouldReflectLaterChangesWithoutCopying() {
+        Collection<Task> tasksView = taskManager.getTasksView();
+        assertEquals(0, tasksView.size(), "Представление должно быть пустым.");
+
+        taskManager.addTask(task1);
+        taskManager.addTask(task2);
+        assertEquals(2, tasksView.size(), "Представление должно видеть новые задачи.");
+
+        taskManager.deleteTask(1);
+        assertEquals(1, tasksView.size(), "Представление должно видеть удаление задачи.");
+        assertEquals(task2.getName(), tasksView.iterator().next().getName(), "Осталась не та задача.");
+    }
+
+    @Test
+    void shouldRejectTimesOutsideEpochRange() {
+        assertEquals(EpochTime.MIN, EpochTime.toDateTime(EpochTime.of(EpochTime.MIN)), "Нижняя граница не сохранилась.");
+        assertEquals(EpochTime.MAX, EpochTime.toDateTime(EpochTime.of(EpochTime.MAX)), "Верхняя граница не сохранилась.");
+        assertNotEquals(EpochTime.NONE, EpochTime.of(EpochTime.MIN), "Граница не должна совпадать с пустым значением.");
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1),
+                EpochTime.toDateTime(EpochTime.of(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1))),
+                "Время до эпохи должно сохраняться точно.");
+
+        assertThrows(IllegalArgumentException.class, () -> EpochTime.of(EpochTime.MIN.minusNanos(1)));
+        assertThrows(IllegalArgumentException.class, () -> EpochTime.of(EpochTime.MAX.plusNanos(1)));
+        assertThrows(IllegalArgumentException.class, () -> EpochTime.of(Duration.ofDays(300 * 365L)));
+        assertThrows(IllegalArgumentException.class, () -> EpochTime.of(Duration.ofNanos(EpochTime.NONE)));
+        assertThrows(IllegalArgumentException.class, () -> new Task("Задача", "Описание", TaskStatus.NEW,
+                EpochTime.MAX.minusHours(1), Duration.ofHours(2)));
+    }
+
+    @Test
+    void shouldClampQueriesOutsideEpochRange() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        taskManager.addTask(new Task("Задача", "Описание", TaskStatus.NEW, start, Duration.ofHours(1)));
+        LocalDateTime farFuture = LocalDateTime.of(3000, 1, 1, 0, 0);
+        LocalDateTime farPast = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+        assertTrue(taskManager.getPrioritizedTasks(farFuture, farFuture.plusYears(1)).isEmpty(),
+                "Интервал после допустимого диапазона должен быть пустым.");
+        assertTrue(taskManager.getPrioritizedTasks(farPast, farPast.plusYears(1)).isEmpty(),
+                "Интервал до допустимого диапазона должен быть пустым.");
+        assertEquals(1, taskManager.getPrioritizedTasks(farPast, farFuture).size(),
+                "Широкий интервал должен включать задачи.");
+        assertEquals(1, taskManager.getPrioritizedTasksAfter(farPast, 10).size(),
+                "Поиск от далёкого прошлого должен находить задачи.");
+        assertTrue(taskManager.getPrioritizedTasksAfter(farFuture, 10).isEmpty(),
+                "Поиск от далёкого будущего должен быть пустым.");
+
+        assertEquals(farFuture, taskManager.findFreeSlot(Duration.ofHours(1), farFuture),
+                "Окно после диапазона должно начинаться с запрошенного момента.");
+        assertEquals(farPast, taskManager.findFreeSlot(Duration.ofHours(1), farPast),
+                "Окно до первой задачи должно начинаться с запрошенного момента.");
+        assertEquals(start.plusHours(1), taskManager.findFreeSlot(Duration.ofDays(400 * 365L), start.minusYears(1)),
+                "Слишком длинное окно должно начинаться после последней задачи.");
+    }
+
+    @Test
+    void shouldArchiveByCompletionTime() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 10, 12, 0);
+        setClock(now);
+        int untimedId = taskManager.addTask(new Task("Без длительности", "Описание", TaskStatus.DONE,
+                now.minusDays(10), null));
+        int scheduledId = taskManager.addTask(new Task("В будущем", "Описание", TaskStatus.DONE,
+                now.plusYears(1), Duration.ofMinutes(30)));
+        int reopenedId = taskManager.addTask(new Task("Переоткрытая", "Описание", TaskStatus.DONE,
+                now.minusDays(5), Duration.ofMinutes(30)));
+        int lateId = taskManager.addTask(new Task("Поздняя", "Описание", TaskStatus.NEW,
+                now.minusDays(4), Duration.ofMinutes(30)));
+
+        setClock(now.plusDays(1));
+        taskManager.updateTask(new Task(reopenedId, "Переоткрытая", "Описание", TaskStatus.IN_PROGRESS,
+                now.minusDays(5), Duration.ofMinutes(30)));
+        taskManager.updateTask(new Task(reopenedId, "Переоткрытая", "Описание", TaskStatus.DONE,
+                now.minusDays(5), Duration.ofMinutes(30)));
+        taskManager.updateTask(new Task(scheduledId, "В будущем", "Описание", TaskStatus.DONE,
+                now.plusYears(2), Duration.ofMinutes(30)));
+        assertThrows(IllegalStateException.class, () -> taskManager.executeInTransaction(manager -> {
+            manager.updateTask(new Task(untimedId, "Без длительности", "Описание", TaskStatus.NEW,
+                    now.minusDays(10), null));
+            throw new IllegalStateException();
+        }));
+
+        setClock(now.plusDays(2));
+        taskManager.updateTask(new Task(lateId, "Поздняя", "Описание", TaskStatus.DONE,
+                now.minusDays(4), Duration.ofMinutes(30)));
+
+        setClock(now.plusDays(2).plusHours(1));
+        assertEquals(2, taskManager.archiveDoneTasks(Duration.ofDays(2)),
+                "Архивироваться должны задачи, завершённые не позже порога.");
+        assertEquals(untimedId, taskManager.getArchivedTask(untimedId).getID(),
+                "Откат транзакции должен сохранить время завершения.");
+        assertEquals(scheduledId, taskManager.getArchivedTask(scheduledId).getID(),
+                "Время выполнения не должно зависеть от расписания.");
+        assertEquals(0, taskManager.archiveDoneTasks(Duration.ofDays(300 * 365L)),
+                "Порог до начала диапазона не должен ничего архивировать.");
+        assertEquals(1, taskManager.archiveDoneTasks(Duration.ofDays(1)),
+                "Переоткрытая задача должна считаться завершённой заново.");
+        assertEquals(List.of(lateId), taskManager.getTasksList().stream().map(Task::getID).toList(),
+                "На доске должна остаться недавно завершённая задача.");
+    }
+
+    private void setClock(LocalDateTime now) {
+        taskManager.setClock(Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldAnswerArchiveQueriesBeforeFirstArchiving() {
+        assertThrows(NotFoundException.class, () -> taskManager.getArchivedTask(1));
+        assertTrue(taskManager.getArchivedTasksPage(0, 10).isEmpty(), "Страница архива должна быть пустой.");
+        assertTrue(taskManager.archivedTasks().isEmpty(), "Архив должен быть пустым.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getArchivedTasksPage(0, 0));
+
+        int taskId = taskManager.addTask(new Task("Задача", "Описание", TaskStatus.DONE,
+                LocalDateTime.of(2025, 1, 1, 9, 0), Duration.ofMinutes(30)));
+        assertEquals(1, taskManager.archiveDoneTasks(Duration.ZERO), "Задача должна уйти в архив.");
+        assertEquals(taskId, taskManager.getArchivedTask(taskId).getID(), "Архив должен создаться при архивации.");
+    }
+}
@@ -0,0 +1,81 @@
+package taskmanagers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntObjectMapTest {
+
+    @Test
+    void shouldKeepAscendingOrderForSequentialIds() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        for (int id = 1; id <= 10; id++) {
+            map.put(id, "Задача " + id);
+        }
+
+        map.remove(5);
+
+        assertEquals(9, map.size(), "Размер таблицы не совпадает.");
+        assertEquals("Задача 1", map.values().iterator().next(), "Первым должен идти наименьший id.");
+        assertFalse(map.containsKey(5), "Удалённый ключ не должен находиться.");
+        assertEquals(List.of("Задача 9", "Задача 10"), map.values().stream().skip(7).toList(),
+                "Порядок обхода должен совпадать с порядком id.");
+    }
+
+    @Test
+    void shouldBehaveLikeHashMapUnderRandomOperations() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000) * 64;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key), "Результат удаления не совпадает.");
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i), "Результат вставки не совпадает.");
+            }
+        }
+
+        assertEquals(expected.size(), map.size(), "Размер таблицы не совпадает.");
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()), "Значение по ключу не совпадает.");
+        }
+    }
+
+    @Test
+    void shouldPageInKeyOrderAfterRandomOperations() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        int afterKey = 0;
+        List<Integer> page;
+        do {
+            page = map.valuesAfter(afterKey, 37);
+            List<Integer> expectedPage = expected.tailMap(afterKey, false).values().stream().limit(37).toList();
+            assertEquals(expectedPage, page, "Страница не совпадает с порядком ключей.");
+            if (!page.isEmpty()) {
+                afterKey = expected.tailMap(afterKey, false).keySet().stream().skip(page.size() - 1)
+                        .findFirst().orElseThrow();
+            }
+        } while (!page.isEmpty());
+    }
+}
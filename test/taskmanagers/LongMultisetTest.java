@@ -0,0 +1,51 @@
+package taskmanagers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongMultisetTest {
+
+    @Test
+    void shouldKeepDuplicatesUntilLastCopyRemoved() {
+        LongMultiset multiset = new LongMultiset();
+        multiset.add(5);
+        multiset.add(5);
+        multiset.add(-3);
+
+        multiset.remove(5);
+        assertEquals(5, multiset.max(), "Второй экземпляр значения должен остаться.");
+        multiset.remove(5);
+        assertEquals(-3, multiset.max(), "Значение должно исчезнуть после удаления всех экземпляров.");
+        multiset.remove(42);
+        multiset.remove(-3);
+        assertTrue(multiset.isEmpty(), "Множество должно опустеть.");
+    }
+
+    @Test
+    void shouldTrackMinAndMaxAfterRandomOperations() {
+        LongMultiset multiset = new LongMultiset();
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 20_000; i++) {
+            long value = random.nextInt(500) * 1_000_000_000L;
+            if (random.nextInt(3) == 0) {
+                multiset.remove(value);
+                expected.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null);
+            } else {
+                multiset.add(value);
+                expected.merge(value, 1, Integer::sum);
+            }
+
+            assertEquals(expected.isEmpty(), multiset.isEmpty(), "Пустота множества не совпадает.");
+            if (!expected.isEmpty()) {
+                assertEquals(expected.firstKey(), multiset.min(), "Минимум не совпадает.");
+                assertEquals(expected.lastKey(), multiset.max(), "Максимум не совпадает.");
+            }
+        }
+    }
+}
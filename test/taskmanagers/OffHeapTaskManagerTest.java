@@ -0,0 +1,99 @@
+package taskmanagers;
+
+import org.junit.jupiter.api.Test;
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapTaskManagerTest extends TaskManagerTest<OffHeapTaskManager> {
+
+    @Override
+    protected OffHeapTaskManager createTaskManager() {
+        return new OffHeapTaskManager();
+    }
+
+    @Test
+    void shouldMaterializeStoredRecordsWithoutLosingFields() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.MAY, 5, 10, 30, 15, 500);
+        int epicId = taskManager.addEpic(new Epic("Эпик", "Описание"));
+        int subtaskId = taskManager.addSubtask(new Subtask(epicId, "Подзадача «юникод» ✓", null,
+                TaskStatus.IN_PROGRESS, start, Duration.ofMinutes(25)));
+        taskManager.updateSubtask(new Subtask(subtaskId, epicId, "Подзадача", "Новое описание",
+                TaskStatus.DONE, start.plusHours(1), Duration.ofMinutes(40)));
+
+        Subtask subtask = taskManager.getSubtask(subtaskId);
+        assertEquals("Подзадача", subtask.getName(), "Название должно читаться из внешней памяти.");
+        assertEquals("Новое описание", subtask.getDescription(), "Описание должно обновляться.");
+        assertEquals(TaskStatus.DONE, subtask.getStatus(), "Статус должен обновляться.");
+        assertEquals(epicId, subtask.getEpicID(), "Эпик подзадачи должен сохраняться.");
+        assertEquals(start.plusHours(1), subtask.getStartTime(), "Время начала должно сохраняться.");
+        assertEquals(Duration.ofMinutes(40), subtask.getDuration(), "Длительность должна сохраняться.");
+        assertEquals(2, subtask.getVersion(), "Версия должна сохраняться.");
+        assertNotSame(subtask, taskManager.getSubtask(subtaskId),
+                "Объекты должны создаваться только при обращении.");
+    }
+
+    @Test
+    void shouldKeepRecordsConsistentAfterManyDeletes() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.JUNE, 1, 0, 0);
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(new Task("Задача " + i, "Описание задачи " + i, TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(30)));
+        }
+        taskManager.addTasks(batch);
+        long reserved = taskManager.getOffHeapBytes();
+
+        for (int round = 0; round < 3; round++) {
+            for (Task task : taskManager.getTasksList()) {
+                if (task.getID() % 2 == round % 2) {
+                    taskManager.deleteTask(task.getID());
+                    taskManager.addTask(new Task(task.getName(), task.getDescription(), task.getStatus(),
+                            task.getStartTime(), task.getDuration()));
+                }
+            }
+        }
+
+        assertEquals(500, taskManager.getTasksList().size(), "Количество задач не должно меняться.");
+        for (Task task : taskManager.getPrioritizedTasks()) {
+            int number = Integer.parseInt(task.getName().substring("Задача ".length()));
+            assertEquals("Описание задачи " + number, task.getDescription(),
+                    "Текст должен оставаться привязанным к своей записи.");
+            assertEquals(start.plusHours(number), task.getStartTime(), "Время должно соответствовать записи.");
+        }
+        assertTrue(taskManager.getOffHeapBytes() <= 4 * reserved,
+                "Освобождённый текст должен переиспользоваться, а не накапливаться.");
+    }
+
+    @Test
+    void shouldCompactTextWithoutStaleRecordsAfterSwapRemove() {
+        OffHeapTaskStore<Task> store = OffHeapTaskStore.forTasks();
+        store.put(1, new Task(1, "Первая", "Описание", TaskStatus.NEW, null, null));
+        store.put(2, new Task(2, "Вторая", "Описание", TaskStatus.NEW, null, null));
+        store.put(3, new Task(3, "Большая", "x".repeat(3000), TaskStatus.NEW, null, null));
+
+        store.remove(1);
+        store.remove(3);
+        store.put(4, new Task(4, "Четвёртая", "Описание", TaskStatus.NEW, null, null));
+        store.put(5, new Task(5, "y".repeat(1100), "z".repeat(1100), TaskStatus.DONE, null, null));
+
+        assertEquals(3, store.size(), "Количество записей не совпадает.");
+        assertEquals("Вторая", store.get(2).getName(), "Название должно пережить уплотнение.");
+        assertEquals("Описание", store.get(2).getDescription(), "Описание должно пережить уплотнение.");
+        assertEquals("Четвёртая", store.get(4).getName(), "Название должно пережить уплотнение.");
+        assertEquals("Описание", store.get(4).getDescription(), "Описание должно пережить уплотнение.");
+        assertEquals("y".repeat(1100), store.get(5).getName(), "Новая запись должна читаться.");
+        assertEquals("z".repeat(1100), store.get(5).getDescription(), "Новая запись должна читаться.");
+        assertEquals(List.of(2, 4, 5), store.valuesAfter(0, 10).stream().map(Task::getID).toList(),
+                "Удалённые записи не должны возвращаться.");
+    }
+}
@@ -0,0 +1,163 @@
+package taskmanagers;
+
+import exceptions.TaskIntersectionException;
+import org.junit.jupiter.api.Test;
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+import tasks.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedTaskManagerTest extends TaskManagerTest<ShardedTaskManager> {
+
+    @Override
+    protected ShardedTaskManager createTaskManager() {
+        return new ShardedTaskManager(4);
+    }
+
+    @Test
+    void shouldRejectOverlapsBetweenShards() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.AUGUST, 1, 9, 0);
+        for (int i = 0; i < 8; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание", TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(60)));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            Task overlapping = new Task("Пересечение " + i, "Описание", TaskStatus.NEW,
+                    start.plusHours(i).plusMinutes(30), Duration.ofMinutes(10));
+            assertThrows(TaskIntersectionException.class, () -> taskManager.addTask(overlapping),
+                    "Пересечение должно обнаруживаться независимо от сегмента.");
+        }
+
+        List<Task> prioritized = taskManager.getPrioritizedTasks();
+        assertEquals(8, prioritized.size(), "Все задачи должны попасть в список приоритетов.");
+        for (int i = 1; i < prioritized.size(); i++) {
+            assertTrue(prioritized.get(i - 1).getStartTime().isBefore(prioritized.get(i).getStartTime()),
+                    "Слияние сегментов должно сохранять порядок по времени начала.");
+        }
+        assertEquals(List.of(3, 4, 5), taskManager.getPrioritizedTasksPage(2, 3).stream().map(Task::getID).toList(),
+                "Страница приоритетов должна продолжаться через сегменты.");
+        assertEquals(start.plusHours(8), taskManager.findFreeSlot(Duration.ofMinutes(30), start),
+                "Свободное окно должно учитывать задачи всех сегментов.");
+    }
+
+    @Test
+    void shouldMoveSubtaskToShardOfNewEpic() {
+        List<Integer> epicIds = taskManager.addEpics(List.of(epic1, epic2, new Epic("Третий эпик", "Описание")));
+        int subtaskId = taskManager.addSubtask(new Subtask(epicIds.get(0), subtask1.getName(),
+                subtask1.getDescription(), TaskStatus.DONE, subtask1.getStartTime(), subtask1.getDuration()));
+
+        for (int epicId : epicIds.subList(1, 3)) {
+            taskManager.updateSubtask(new Subtask(subtaskId, epicId, subtask1.getName(), subtask1.getDescription(),
+                    TaskStatus.DONE, subtask1.getStartTime(), subtask1.getDuration()));
+
+            assertEquals(List.of(subtaskId), taskManager.getEpic(epicId).getSubtasksID(),
+                    "Подзадача должна перейти в новый эпик.");
+            assertEquals(TaskStatus.DONE, taskManager.getEpic(epicId).getStatus(),
+                    "Статус нового эпика должен быть пересчитан.");
+            assertEquals(epicId, taskManager.getSubtask(subtaskId).getEpicID(), "Эпик подзадачи не обновился.");
+        }
+
+        assertTrue(taskManager.getEpic(epicIds.get(0)).getSubtasksID().isEmpty(),
+                "Старый эпик не должен хранить подзадачу.");
+        assertEquals(3, taskManager.getSubtask(subtaskId).getVersion(), "Версия должна расти при переносе.");
+        assertEquals(1, taskManager.getPrioritizedTasks().size(), "Подзадача не должна дублироваться.");
+    }
+
+    @Test
+    void shouldReturnDetachedEpicCopies() {
+        int epicId = taskManager.addEpic(epic1);
+        Epic fromGet = taskManager.getEpic(epicId);
+        Epic fromList = taskManager.getEpicsList().getFirst();
+        Epic fromPage = taskManager.getEpicsPage(0, 10).getFirst();
+        Epic fromStatus = taskManager.getEpicsByStatus(TaskStatus.NEW).getFirst();
+        Task fromSearch = taskManager.searchTasks(epic1.getName()).getFirst();
+        Task fromHistory = taskManager.getHistory().getFirst();
+        Task fromHistoryPage = taskManager.getHistoryPage(0, 10).getFirst();
+
+        taskManager.addSubtask(new Subtask(epicId, subtask1.getName(), subtask1.getDescription(), TaskStatus.DONE,
+                subtask1.getStartTime(), subtask1.getDuration()));
+
+        for (Task epic : List.of(fromGet, fromList, fromPage, fromStatus, fromSearch, fromHistory, fromHistoryPage)) {
+            assertTrue(((Epic) epic).getSubtasksID().isEmpty(), "Выданный эпик не должен меняться вместе с доской.");
+            assertEquals(TaskStatus.NEW, epic.getStatus(), "Статус выданного эпика не должен меняться.");
+        }
+        assertEquals(TaskStatus.DONE, taskManager.getEpic(epicId).getStatus(), "Новое чтение видит изменения.");
+    }
+
+    @Test
+    void shouldMoveSubtaskBetweenShardsAsSingleUpdate() {
+        List<Epic> epics = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            epics.add(new Epic("Эпик " + i, "Описание"));
+        }
+        List<Integer> epicIds = taskManager.addEpics(epics);
+        int subtaskId = taskManager.addSubtask(new Subtask(epicIds.get(0), subtask1.getName(),
+                subtask1.getDescription(), TaskStatus.DONE, subtask1.getStartTime(), subtask1.getDuration()));
+        taskManager.getSubtask(subtaskId);
+
+        List<TaskEvent> events = new ArrayList<>();
+        taskManager.addListener(events::add);
+        for (int epicId : epicIds.subList(1, epicIds.size())) {
+            events.clear();
+            taskManager.updateSubtask(new Subtask(subtaskId, epicId, subtask1.getName(), subtask1.getDescription(),
+                    TaskStatus.DONE, subtask1.getStartTime(), subtask1.getDuration()));
+
+            List<TaskEvent> subtaskEvents = events.stream()
+                    .filter(event -> event.getTaskType() == TaskType.SUBTASK)
+                    .toList();
+            assertEquals(1, subtaskEvents.size(), "Перенос должен публиковать одно событие подзадачи.");
+            assertEquals(TaskEvent.Kind.UPDATED, subtaskEvents.get(0).getKind(), "Перенос должен быть обновлением.");
+            assertEquals(epicId, ((Subtask) subtaskEvents.get(0).getNewValue()).getEpicID(),
+                    "Событие должно содержать новый эпик.");
+            assertTrue(taskManager.getHistory().stream().anyMatch(task -> task.getID() == subtaskId),
+                    "Перенос не должен удалять подзадачу из истории.");
+        }
+
+        assertEquals(epicIds.size(), taskManager.getSubtask(subtaskId).getVersion(),
+                "Версия должна расти на единицу при каждом переносе.");
+        for (int epicId : epicIds.subList(0, epicIds.size() - 1)) {
+            assertTrue(taskManager.getEpic(epicId).getSubtasksID().isEmpty(),
+                    "Прежние эпики не должны хранить подзадачу.");
+            assertEquals(TaskStatus.NEW, taskManager.getEpic(epicId).getStatus(),
+                    "Статус прежнего эпика должен быть пересчитан.");
+        }
+        assertEquals(List.of(subtaskId), taskManager.getEpic(epicIds.get(epicIds.size() - 1)).getSubtasksID(),
+                "Подзадача должна перейти в последний эпик.");
+    }
+
+    @Test
+    void shouldKeepScheduleConsistentUnderConcurrentWriters() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.SEPTEMBER, 1, 0, 0);
+        AtomicInteger rejected = new AtomicInteger();
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+
+        for (int writer = 0; writer < 4; writer++) {
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int slot = 0; slot < 50; slot++) {
+                    try {
+                        taskManager.addTask(new Task("Слот " + slot, "Описание", TaskStatus.NEW,
+                                start.plusMinutes(slot * 30L), Duration.ofMinutes(30)));
+                    } catch (TaskIntersectionException exception) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        writers.forEach(CompletableFuture::join);
+
+        assertEquals(50, taskManager.getTasksList().size(), "Каждый слот должен быть занят ровно один раз.");
+        assertEquals(150, rejected.get(), "Остальные попытки должны быть отклонены.");
+    }
+}
@@ -0,0 +1,174 @@
+package taskmanagers;
+
+import exceptions.TaskIntersectionException;
+import org.junit.jupiter.api.Test;
+import tasks.Epic;
+import tasks.Subtask;
+import tasks.Task;
+import tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotTaskManagerTest extends TaskManagerTest<SnapshotTaskManager> {
+
+    @Override
+    protected SnapshotTaskManager createTaskManager() {
+        return new SnapshotTaskManager(new InMemoryTaskManager());
+    }
+
+    @Test
+    void shouldKeepPreviouslyReadSnapshotUnchanged() {
+        taskManager.addTask(task1);
+        List<Task> before = taskManager.getTasksList();
+        List<Task> prioritizedBefore = taskManager.getPrioritizedTasks();
+
+        taskManager.addTask(task2);
+        taskManager.deleteTask(1);
+
+        assertEquals(1, before.size(), "Прочитанный снимок не должен меняться.");
+        assertEquals(1, prioritizedBefore.getFirst().getID(), "Прочитанный снимок не должен меняться.");
+        assertEquals(List.of(2), taskManager.getTasksList().stream().map(Task::getID).toList(),
+                "Новый снимок должен отражать изменения.");
+    }
+
+    @Test
+    void shouldServeReadsWhileWriterHoldsLock() throws Exception {
+        taskManager.addTask(task1);
+        taskManager.getTask(1);
+        CountDownLatch writerStarted = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                taskManager.executeInTransaction(manager -> {
+                    manager.addTask(new Task("Новая", "Описание", TaskStatus.NEW,
+                            LocalDateTime.of(2025, Month.MAY, 1, 10, 0), Duration.ofMinutes(30)));
+                    writerStarted.countDown();
+                    try {
+                        releaseWriter.await();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+
+        assertTrue(writerStarted.await(5, TimeUnit.SECONDS), "Транзакция должна начаться.");
+        List<Task> tasks = CompletableFuture.supplyAsync(taskManager::getTasksList).get(5, TimeUnit.SECONDS);
+        List<Task> history = CompletableFuture.supplyAsync(taskManager::getHistory).get(5, TimeUnit.SECONDS);
+        List<Task> prioritized = CompletableFuture.supplyAsync(taskManager::getPrioritizedTasks)
+                .get(5, TimeUnit.SECONDS);
+        Task task = CompletableFuture.supplyAsync(() -> taskManager.getTask(1)).get(5, TimeUnit.SECONDS);
+        List<Task> byStatus = CompletableFuture.supplyAsync(() -> taskManager.getTasksByStatus(TaskStatus.NEW))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, tasks.size(), "Незафиксированные изменения не должны быть видны.");
+        assertEquals(1, task.getID(), "Задача по идентификатору должна читаться без ожидания.");
+        assertEquals(1, byStatus.size(), "Выборка по статусу должна читаться без ожидания.");
+        assertEquals(1, history.size(), "История должна читаться без ожидания.");
+        assertEquals(1, prioritized.size(), "Приоритеты должны читаться без ожидания.");
+
+        releaseWriter.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+        assertEquals(2, taskManager.getTasksList().size(), "Зафиксированные изменения должны быть видны.");
+    }
+
+    @Test
+    void shouldMatchDelegateAfterRandomOperations() {
+        InMemoryTaskManager delegate = new InMemoryTaskManager();
+        SnapshotTaskManager manager = new SnapshotTaskManager(delegate);
+        Random random = new Random(11);
+        LocalDateTime start = LocalDateTime.of(2025, Month.JUNE, 1, 0, 0);
+        List<Integer> epicIds = new ArrayList<>();
+        epicIds.add(manager.addEpic(new Epic("Эпик", "Описание")));
+
+        for (int i = 0; i < 2_000; i++) {
+            int slot = random.nextInt(10_000);
+            LocalDateTime taskStart = random.nextInt(4) == 0 ? null : start.plusHours(slot);
+            Duration duration = taskStart == null ? null : Duration.ofMinutes(30);
+            TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+            int epicId = epicIds.get(random.nextInt(epicIds.size()));
+
+            try {
+                switch (random.nextInt(8)) {
+                    case 0 -> manager.addTask(new Task("Задача", "Описание", status, taskStart, duration));
+                    case 1 -> epicIds.add(manager.addEpic(new Epic("Эпик", "Описание")));
+                    case 2, 3 -> manager.addSubtask(new Subtask(epicId, "Подзадача", "Описание", status,
+                            taskStart, duration));
+                    case 4 -> {
+                        List<Subtask> subtasks = manager.getSubtasksList();
+                        if (!subtasks.isEmpty()) {
+                            Subtask subtask = subtasks.get(random.nextInt(subtasks.size()));
+                            manager.updateSubtask(new Subtask(subtask.getID(), epicId, "Подзадача", "Описание",
+                                    status, taskStart, duration));
+                        }
+                    }
+                    case 5 -> {
+                        List<Subtask> subtasks = manager.getSubtasksList();
+                        if (!subtasks.isEmpty()) {
+                            manager.deleteSubtask(subtasks.get(random.nextInt(subtasks.size())).getID());
+                        }
+                    }
+                    case 6 -> {
+                        List<Task> tasks = manager.getTasksList();
+                        if (!tasks.isEmpty()) {
+                            manager.deleteTask(tasks.get(random.nextInt(tasks.size())).getID());
+                        }
+                    }
+                    default -> {
+                        if (random.nextInt(40) == 0) {
+                            manager.clearSubtasksList();
+                        } else if (random.nextInt(20) == 0) {
+                            manager.executeInTransaction(transaction -> transaction.addSubtask(new Subtask(epicId,
+                                    "Подзадача", "Описание", status, null, null)));
+                        } else if (epicIds.size() > 1 && random.nextInt(4) == 0) {
+                            int removedId = epicIds.remove(random.nextInt(epicIds.size()));
+                            manager.deleteEpic(removedId);
+                        }
+                    }
+                }
+            } catch (TaskIntersectionException exception) {
+                continue;
+            }
+
+            if (i % 100 == 0) {
+                assertSameBoard(delegate, manager);
+            }
+        }
+
+        assertSameBoard(delegate, manager);
+    }
+
+    private static void assertSameBoard(TaskManager expected, SnapshotTaskManager actual) {
+        assertEquals(sortedById(expected.getTasksList()), actual.getTasksList(),
+                "Задачи снимка расходятся с менеджером.");
+        assertEquals(sortedById(expected.getSubtasksList()), actual.getSubtasksList(), "Подзадачи снимка расходятся.");
+        assertEquals(expected.getPrioritizedTasks(), actual.getPrioritizedTasks(), "Приоритеты снимка расходятся.");
+
+        List<Epic> expectedEpics = sortedById(expected.getEpicsList());
+        List<Epic> actualEpics = actual.getEpicsList();
+        assertEquals(expectedEpics.size(), actualEpics.size(), "Число эпиков снимка расходится.");
+        for (int i = 0; i < expectedEpics.size(); i++) {
+            Epic expectedEpic = expectedEpics.get(i);
+            Epic actualEpic = actualEpics.get(i);
+            assertEquals(expectedEpic.getID(), actualEpic.getID(), "Эпики снимка расходятся.");
+            assertEquals(expectedEpic.getStatus(), actualEpic.getStatus(), "Статус эпика расходится.");
+            assertEquals(expectedEpic.getStartTime(), actualEpic.getStartTime(), "Начало эпика расходится.");
+            assertEquals(expectedEpic.getEndTime(), actualEpic.getEndTime(), "Окончание эпика расходится.");
+            assertEquals(expectedEpic.getSubtasksID().stream().sorted().toList(), actualEpic.getSubtasksID(),
+                    "Подзадачи эпика расходятся.");
+        }
+    }
+
+    private static <T extends Task> List<T> sortedById(List<T> tasks) {
+        return tasks.stream().sorted(Comparator.comparingInt(Task::getID)).toList();
+    }
+}
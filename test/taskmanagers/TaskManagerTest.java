@@ -2,6 +2,7 @@ package taskmanagers;
 
 import exceptions.NotFoundException;
 import exceptions.TaskIntersectionException;
+import exceptions.VersionConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tasks.*;
@@ -9,6 +10,7 @@ import tasks.*;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,6 +136,518 @@ abstract class TaskManagerTest<T extends TaskManager> {
                 "Должно выбрасываться исключение NotFoundException после удаления подзадачи.");
     }
 
+    @Test
+    void shouldReturnIdsOfAddedTasksAndExposeReadOnlyViews() {
+        int taskId = taskManager.addTask(task1);
+        int epicId = taskManager.addEpic(epic1);
+        int subtaskId = taskManager.addSubtask(new Subtask(epicId, subtask1.getName(), subtask1.getDescription(),
+                subtask1.getStatus(), subtask1.getStartTime(), subtask1.getDuration()));
+
+        assertTrue(taskManager.containsTask(taskId), "Задача должна находиться по возвращённому id.");
+        assertTrue(taskManager.containsEpic(epicId), "Эпик должен находиться по возвращённому id.");
+        assertTrue(taskManager.containsSubtask(subtaskId), "Подзадача должна находиться по возвращённому id.");
+        assertFalse(taskManager.containsTask(epicId), "Эпик не должен считаться задачей.");
+        assertTrue(taskManager.getHistory().isEmpty(), "Проверка наличия не должна попадать в историю.");
+
+        assertEquals(1, taskManager.getTasksView().size(), "Представление задач не совпадает.");
+        assertThrows(UnsupportedOperationException.class, () -> taskManager.getSubtasksView().clear(),
+                "Представление должно быть только для чтения.");
+    }
+
+    @Test
+    void shouldReturnTasksPageAfterGivenId() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.MAY, 1, 9, 0);
+        for (int i = 0; i < 10; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание", TaskStatus.NEW,
+                    start.minusHours(i), Duration.ofMinutes(30)));
+        }
+
+        List<Task> page = taskManager.getTasksPage(3, 4);
+        assertEquals(List.of(4, 5, 6, 7), page.stream().map(Task::getID).toList(),
+                "Страница должна содержать следующие по порядку id.");
+        assertEquals(2, taskManager.getTasksPage(8, 4).size(), "Последняя страница должна быть неполной.");
+
+        List<Task> prioritizedPage = taskManager.getPrioritizedTasksPage(5, 3);
+        assertEquals(List.of(4, 3, 2), prioritizedPage.stream().map(Task::getID).toList(),
+                "Страница приоритетов должна идти по времени начала.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTasksPage(0, 0),
+                "Размер страницы должен быть положительным.");
+    }
+
+    @Test
+    void shouldKeepStatusIndexInSyncWithChanges() {
+        taskManager.addTask(task1);
+        taskManager.addTask(task2);
+        taskManager.addEpic(epic1);
+        taskManager.addSubtask(new Subtask(3, subtask1.getName(), subtask1.getDescription(), TaskStatus.NEW,
+                subtask1.getStartTime(), subtask1.getDuration()));
+
+        assertEquals(List.of(1), taskManager.getTasksByStatus(TaskStatus.NEW).stream().map(Task::getID).toList(),
+                "Новой должна быть только первая задача.");
+        assertEquals(1, taskManager.getSubtasksByStatus(TaskStatus.NEW).size(), "Подзадача должна быть новой.");
+        assertEquals(1, taskManager.getEpicsByStatus(TaskStatus.NEW).size(), "Эпик должен быть новым.");
+
+        taskManager.updateTask(new Task(1, task1.getName(), task1.getDescription(), TaskStatus.DONE,
+                task1.getStartTime(), task1.getDuration()));
+        taskManager.updateSubtask(new Subtask(4, 3, subtask1.getName(), subtask1.getDescription(),
+                TaskStatus.IN_PROGRESS, subtask1.getStartTime(), subtask1.getDuration()));
+
+        assertTrue(taskManager.getTasksByStatus(TaskStatus.NEW).isEmpty(), "Новых задач не должно остаться.");
+        assertEquals(2, taskManager.getTasksByStatus(TaskStatus.DONE).size(), "Обе задачи должны быть выполнены.");
+        assertEquals(1, taskManager.getEpicsByStatus(TaskStatus.IN_PROGRESS).size(),
+                "Эпик должен перейти в работу вместе с подзадачей.");
+        assertTrue(taskManager.getEpicsByStatus(TaskStatus.NEW).isEmpty(), "Эпик не должен оставаться новым.");
+
+        taskManager.deleteSubtask(4);
+        taskManager.deleteTask(2);
+        assertTrue(taskManager.getSubtasksByStatus(TaskStatus.IN_PROGRESS).isEmpty(),
+                "Удалённая подзадача не должна находиться по статусу.");
+        assertEquals(1, taskManager.getTasksByStatus(TaskStatus.DONE).size(), "Должна остаться одна задача.");
+        assertEquals(1, taskManager.getEpicsByStatus(TaskStatus.NEW).size(), "Пустой эпик снова новый.");
+    }
+
+    @Test
+    void shouldAddTasksInBatchAndRejectOverlappingBatchAtomically() {
+        List<Integer> ids = taskManager.addTasks(List.of(task1, task2));
+
+        assertEquals(List.of(1, 2), ids, "Идентификаторы пакета не совпадают.");
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Задачи пакета должны попасть в приоритеты.");
+
+        Task first = new Task("Третья", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, Month.FEBRUARY, 1, 10, 0), Duration.ofMinutes(60));
+        Task overlapping = new Task("Четвёртая", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, Month.FEBRUARY, 1, 10, 30), Duration.ofMinutes(60));
+
+        assertThrows(TaskIntersectionException.class, () -> taskManager.addTasks(List.of(first, overlapping)),
+                "Задачи внутри пакета не должны пересекаться.");
+        assertEquals(2, taskManager.getTasksList().size(), "Отклонённый пакет не должен добавлять задачи.");
+    }
+
+    @Test
+    void shouldAddSubtasksInBatchAndRecalculateEpics() {
+        taskManager.addEpic(epic1);
+        Subtask orphan = new Subtask(42, "Без эпика", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, Month.APRIL, 1, 9, 0), Duration.ofMinutes(30));
+        Subtask first = new Subtask(1, subtask1.getName(), subtask1.getDescription(), TaskStatus.NEW,
+                subtask1.getStartTime(), subtask1.getDuration());
+        Subtask second = new Subtask(1, subtask3.getName(), subtask3.getDescription(), TaskStatus.DONE,
+                subtask3.getStartTime(), subtask3.getDuration());
+
+        List<Integer> ids = taskManager.addSubtasks(List.of(first, orphan, second));
+
+        assertEquals(List.of(2, -1, 3), ids, "Подзадача без эпика должна быть отклонена.");
+        Epic epic = taskManager.getEpic(1);
+        assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus(), "Статус эпика должен быть пересчитан.");
+        assertEquals(first.getStartTime(), epic.getStartTime(), "Начало эпика должно быть пересчитано.");
+        assertEquals(second.getEndTime(), epic.getEndTime(), "Окончание эпика должно быть пересчитано.");
+    }
+
+    @Test
+    void shouldSwapTaskTimesInBatchUpdate() {
+        taskManager.addTasks(List.of(task1, task2));
+        Task movedFirst = new Task(1, task1.getName(), task1.getDescription(), task1.getStatus(),
+                task2.getStartTime(), task1.getDuration());
+        Task movedSecond = new Task(2, task2.getName(), task2.getDescription(), task2.getStatus(),
+                LocalDateTime.of(2025, Month.JANUARY, 1, 12, 0), task2.getDuration());
+
+        assertThrows(TaskIntersectionException.class, () -> taskManager.updateTask(movedFirst),
+                "Одиночное обновление пересекается со второй задачей.");
+
+        taskManager.updateTasks(List.of(movedFirst, movedSecond));
+
+        assertEquals(task2.getStartTime(), taskManager.getTask(1).getStartTime(), "Первая задача не обновилась.");
+        assertEquals(movedSecond.getStartTime(), taskManager.getTask(2).getStartTime(),
+                "Вторая задача не обновилась.");
+
+        Task overlapping = new Task(1, task1.getName(), task1.getDescription(), task1.getStatus(),
+                LocalDateTime.of(2025, Month.JANUARY, 1, 13, 0), Duration.ofMinutes(60));
+        assertThrows(TaskIntersectionException.class, () -> taskManager.updateTasks(List.of(overlapping)));
+
+        Task intruder = new Task("Новая", "Описание", TaskStatus.NEW,
+                LocalDateTime.of(2025, Month.JANUARY, 1, 10, 30), Duration.ofMinutes(30));
+        assertThrows(TaskIntersectionException.class, () -> taskManager.addTask(intruder),
+                "Отклонённое обновление не должно освобождать время задачи.");
+    }
+
+    @Test
+    void shouldDeleteInBatchOnlyWhenAllIdsExist() {
+        taskManager.addTasks(List.of(task1, task2));
+        taskManager.addEpic(epic1);
+        taskManager.addSubtasks(List.of(
+                new Subtask(3, subtask1.getName(), subtask1.getDescription(), TaskStatus.DONE,
+                        subtask1.getStartTime(), subtask1.getDuration()),
+                new Subtask(3, subtask2.getName(), subtask2.getDescription(), TaskStatus.NEW,
+                        subtask2.getStartTime(), subtask2.getDuration())));
+
+        assertThrows(NotFoundException.class, () -> taskManager.deleteTasks(List.of(1, 99)));
+        assertEquals(2, taskManager.getTasksList().size(), "Пакет с неизвестным id не должен ничего удалять.");
+
+        taskManager.deleteTasks(List.of(1, 2));
+        taskManager.deleteSubtasks(List.of(5));
+
+        assertTrue(taskManager.getTasksList().isEmpty(), "Задачи должны быть удалены.");
+        Epic epic = taskManager.getEpic(3);
+        assertEquals(List.of(4), epic.getSubtasksID(), "В эпике должна остаться одна подзадача.");
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Статус эпика должен быть пересчитан.");
+    }
+
+    @Test
+    void shouldCommitTransactionWithTemporaryOverlaps() {
+        taskManager.addEpic(epic1);
+        taskManager.addSubtasks(List.of(
+                new Subtask(1, subtask1.getName(), subtask1.getDescription(), TaskStatus.NEW,
+                        subtask1.getStartTime(), subtask1.getDuration()),
+                new Subtask(1, subtask3.getName(), subtask3.getDescription(), TaskStatus.NEW,
+                        subtask3.getStartTime(), subtask3.getDuration())));
+
+        taskManager.executeInTransaction(manager -> {
+            manager.updateSubtask(new Subtask(2, 1, subtask1.getName(), subtask1.getDescription(),
+                    TaskStatus.DONE, subtask3.getStartTime(), subtask1.getDuration()));
+            manager.updateSubtask(new Subtask(3, 1, subtask3.getName(), subtask3.getDescription(),
+                    TaskStatus.DONE, subtask1.getStartTime(), subtask3.getDuration()));
+        });
+
+        assertEquals(subtask3.getStartTime(), taskManager.getSubtask(2).getStartTime(),
+                "Первая подзадача должна переместиться.");
+        assertEquals(subtask1.getStartTime(), taskManager.getSubtask(3).getStartTime(),
+                "Вторая подзадача должна переместиться.");
+        assertEquals(TaskStatus.DONE, taskManager.getEpic(1).getStatus(), "Статус эпика должен быть пересчитан.");
+    }
+
+    @Test
+    void shouldRollbackTransactionOnIntersection() {
+        taskManager.addTask(task1);
+        taskManager.addEpic(epic1);
+        taskManager.addSubtask(new Subtask(2, subtask1.getName(), subtask1.getDescription(), TaskStatus.DONE,
+                subtask1.getStartTime(), subtask1.getDuration()));
+        taskManager.getTask(1);
+
+        assertThrows(TaskIntersectionException.class, () -> taskManager.executeInTransaction(manager -> {
+            manager.deleteTask(1);
+            manager.deleteEpic(2);
+            manager.addTask(task2);
+            manager.addTask(new Task("Пересечение", "Описание", TaskStatus.NEW,
+                    LocalDateTime.of(2025, Month.JANUARY, 1, 11, 0), Duration.ofMinutes(30)));
+        }));
+
+        assertEquals(List.of(1), taskManager.getTasksList().stream().map(Task::getID).toList(),
+                "Удалённая задача должна вернуться, добавленные — исчезнуть.");
+        assertEquals(task1.getStartTime(), taskManager.getPrioritizedTasks().getFirst().getStartTime(),
+                "Список приоритетов должен быть восстановлен.");
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Список приоритетов должен быть восстановлен.");
+        assertEquals(List.of(3), taskManager.getEpic(2).getSubtasksID(), "Подзадача должна вернуться в эпик.");
+        assertEquals(TaskStatus.DONE, taskManager.getEpic(2).getStatus(), "Статус эпика должен быть восстановлен.");
+        assertEquals(1, taskManager.getHistory().getFirst().getID(), "История не должна теряться при откате.");
+        assertEquals(6, taskManager.addTask(task2),
+                "Идентификаторы отменённой транзакции не должны выдаваться повторно.");
+    }
+
+    @Test
+    void shouldBumpVersionAndRejectStaleCompareAndSet() {
+        int taskId = taskManager.addTask(task1);
+        taskManager.addEpic(epic1);
+        assertEquals(1, taskManager.getTask(taskId).getVersion(), "Новая задача должна иметь версию 1.");
+
+        Task renamed = new Task(taskId, "Новое имя", task1.getDescription(), task1.getStatus(),
+                task1.getStartTime(), task1.getDuration());
+        taskManager.updateTask(renamed, 1);
+        assertEquals(2, taskManager.getTask(taskId).getVersion(), "Версия должна увеличиться после обновления.");
+
+        Task stale = new Task(taskId, "Устаревшее имя", task1.getDescription(), task1.getStatus(),
+                task1.getStartTime(), task1.getDuration());
+        assertThrows(VersionConflictException.class, () -> taskManager.updateTask(stale, 1));
+        assertEquals("Новое имя", taskManager.getTask(taskId).getName(), "Конфликт не должен менять задачу.");
+
+        taskManager.updateEpic(new Epic(2, "Новый эпик", "Описание"), 1);
+        assertEquals(2, taskManager.getEpic(2).getVersion(), "Версия эпика должна увеличиться.");
+        assertThrows(NotFoundException.class,
+                () -> taskManager.updateTask(new Task(99, "Нет", "Нет", TaskStatus.NEW, null, null), 1));
+    }
+
+    @Test
+    void shouldReturnPrioritizedTasksOverlappingTimeRange() {
+        LocalDateTime day = LocalDateTime.of(2025, Month.JUNE, 2, 0, 0);
+        taskManager.addTasks(List.of(
+                new Task("Ночная", "Описание", TaskStatus.NEW, day.minusHours(1), Duration.ofMinutes(120)),
+                new Task("Утренняя", "Описание", TaskStatus.NEW, day.plusHours(9), Duration.ofMinutes(60)),
+                new Task("Вечерняя", "Описание", TaskStatus.NEW, day.plusHours(23), Duration.ofMinutes(60)),
+                new Task("Завтрашняя", "Описание", TaskStatus.NEW, day.plusDays(1), Duration.ofMinutes(60)),
+                new Task("Вчерашняя", "Описание", TaskStatus.NEW, day.minusHours(5), Duration.ofMinutes(60))));
+
+        List<Task> dayTasks = taskManager.getPrioritizedTasks(day, day.plusDays(1));
+
+        assertEquals(List.of("Ночная", "Утренняя", "Вечерняя"), dayTasks.stream().map(Task::getName).toList(),
+                "В интервал должны попасть задачи, пересекающие его, в порядке начала.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getPrioritizedTasks(day.plusDays(1), day));
+        assertEquals(List.of("Ночная", "Утренняя"),
+                taskManager.getPrioritizedTasks(day, day.plusDays(1), 2).stream().map(Task::getName).toList(),
+                "Ограниченный интервал должен возвращать первые задачи по времени начала.");
+
+        List<Task> next = taskManager.getPrioritizedTasksAfter(day, 2);
+        assertEquals(List.of("Утренняя", "Вечерняя"), next.stream().map(Task::getName).toList(),
+                "Должны вернуться ближайшие задачи, начинающиеся не раньше момента.");
+        assertTrue(taskManager.getPrioritizedTasksAfter(day.plusDays(2), 5).isEmpty(),
+                "После последней задачи список должен быть пустым.");
+    }
+
+    @Test
+    void shouldPublishChangeEventsInOrder() {
+        List<TaskEvent> events = new ArrayList<>();
+        taskManager.addListener(events::add);
+
+        int taskId = taskManager.addTask(task1);
+        taskManager.updateTask(new Task(taskId, "Новое имя", task1.getDescription(), TaskStatus.DONE,
+                task1.getStartTime(), task1.getDuration()));
+        int epicId = taskManager.addEpic(epic1);
+        taskManager.addSubtask(new Subtask(epicId, subtask1.getName(), subtask1.getDescription(),
+                TaskStatus.IN_PROGRESS, subtask1.getStartTime(), subtask1.getDuration()));
+        taskManager.deleteTask(taskId);
+
+        assertEquals(List.of(TaskEvent.Kind.ADDED, TaskEvent.Kind.UPDATED, TaskEvent.Kind.ADDED,
+                        TaskEvent.Kind.ADDED, TaskEvent.Kind.UPDATED, TaskEvent.Kind.DELETED),
+                events.stream().map(TaskEvent::getKind).toList(), "Неверная последовательность событий.");
+        assertEquals(List.of(TaskType.TASK, TaskType.TASK, TaskType.EPIC, TaskType.SUBTASK, TaskType.EPIC,
+                        TaskType.TASK), events.stream().map(TaskEvent::getTaskType).toList(),
+                "Неверные типы задач в событиях.");
+        assertEquals(task1.getName(), events.get(1).getOldValue().getName(), "Событие должно хранить старое значение.");
+        assertEquals("Новое имя", events.get(1).getNewValue().getName(), "Событие должно хранить новое значение.");
+        assertEquals(TaskStatus.NEW, events.get(4).getOldValue().getStatus(), "Эпик до пересчёта был новым.");
+        assertEquals(TaskStatus.IN_PROGRESS, events.get(4).getNewValue().getStatus(), "Эпик должен перейти в работу.");
+        assertNull(events.get(5).getNewValue(), "У удаления нет нового значения.");
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getSequence() > events.get(i - 1).getSequence(),
+                    "Номера событий должны возрастать.");
+        }
+
+        events.clear();
+        assertThrows(TaskIntersectionException.class, () -> taskManager.executeInTransaction(manager -> {
+            manager.addTask(task2);
+            manager.addTask(new Task("Пересечение", "Описание", TaskStatus.NEW,
+                    task2.getStartTime(), Duration.ofMinutes(30)));
+        }));
+        assertTrue(events.isEmpty(), "Отменённая транзакция не должна публиковать события.");
+
+        taskManager.executeInTransaction(manager -> manager.addTask(task2));
+        assertEquals(1, events.size(), "Подтверждённая транзакция должна опубликовать свои события.");
+    }
+
+    @Test
+    void shouldIsolateFailingListeners() {
+        List<TaskEvent> events = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((failedThread, exception) -> failures.add(exception));
+        try {
+            taskManager.addListener(event -> {
+                throw new IllegalStateException("Слушатель упал.");
+            });
+            taskManager.addListener(events::add);
+
+            int taskId = taskManager.addTask(task1);
+            taskManager.executeInTransaction(manager -> manager.addTask(task2));
+            taskManager.deleteTask(taskId);
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(List.of(TaskEvent.Kind.ADDED, TaskEvent.Kind.ADDED, TaskEvent.Kind.DELETED),
+                events.stream().map(TaskEvent::getKind).toList(), "Остальные слушатели должны получить все события.");
+        assertEquals(3, failures.size(), "Ошибка каждого вызова слушателя должна быть передана обработчику.");
+        assertEquals(1, taskManager.getTasksList().size(), "Ошибка слушателя не должна прерывать изменения.");
+        assertEquals(task2.getName(), taskManager.getTasksList().get(0).getName(),
+                "Транзакция должна примениться несмотря на ошибку слушателя.");
+    }
+
+    @Test
+    void shouldCascadeDeleteEpicAndClearSubtasksInBulk() {
+        int bigEpicId = taskManager.addEpic(epic1);
+        int smallEpicId = taskManager.addEpic(epic2);
+        LocalDateTime start = LocalDateTime.of(2025, Month.OCTOBER, 1, 0, 0);
+        List<Subtask> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(new Subtask(bigEpicId, "Подзадача " + i, "Описание", TaskStatus.DONE,
+                    start.plusMinutes(i * 10L), Duration.ofMinutes(10)));
+        }
+        List<Integer> bigIds = taskManager.addSubtasks(batch);
+        int smallSubtaskId = taskManager.addSubtask(new Subtask(smallEpicId, subtask1.getName(),
+                subtask1.getDescription(), TaskStatus.IN_PROGRESS, subtask1.getStartTime(), subtask1.getDuration()));
+        taskManager.getSubtask(bigIds.getFirst());
+        taskManager.getSubtask(smallSubtaskId);
+        taskManager.getEpic(bigEpicId);
+
+        taskManager.deleteEpic(bigEpicId);
+
+        assertEquals(List.of(smallSubtaskId), taskManager.getSubtasksList().stream().map(Task::getID).toList(),
+                "Должна остаться только подзадача другого эпика.");
+        assertEquals(List.of(smallSubtaskId), taskManager.getHistory().stream().map(Task::getID).toList(),
+                "История должна очиститься от эпика и его подзадач.");
+        assertEquals(1, taskManager.getPrioritizedTasks().size(), "Приоритеты должны очиститься.");
+        assertEquals(start, taskManager.findFreeSlot(Duration.ofHours(30), start),
+                "Время удалённых подзадач должно освободиться.");
+
+        assertThrows(IllegalStateException.class, () -> taskManager.executeInTransaction(manager -> {
+            manager.clearSubtasksList();
+            throw new IllegalStateException("Откат");
+        }));
+        assertEquals(List.of(smallSubtaskId), taskManager.getEpic(smallEpicId).getSubtasksID(),
+                "Откат должен вернуть подзадачи в эпик.");
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpic(smallEpicId).getStatus(),
+                "Откат должен восстановить статус эпика.");
+
+        taskManager.clearSubtasksList();
+
+        Epic epic = taskManager.getEpic(smallEpicId);
+        assertTrue(epic.getSubtasksID().isEmpty(), "В эпике не должно остаться подзадач.");
+        assertEquals(TaskStatus.NEW, epic.getStatus(), "Пустой эпик должен стать новым.");
+        assertNull(epic.getStartTime(), "Время пустого эпика должно сброситься.");
+        assertTrue(taskManager.getPrioritizedTasks().isEmpty(), "Приоритеты должны быть пустыми.");
+        assertEquals(List.of(smallEpicId), taskManager.getHistory().stream().map(Task::getID).toList(),
+                "В истории должен остаться только эпик.");
+    }
+
+    @Test
+    void shouldMaintainBoardStatsIncrementally() {
+        taskManager.addTasks(List.of(task1, task2));
+        int epicId = taskManager.addEpic(epic1);
+        int firstId = taskManager.addSubtask(new Subtask(epicId, subtask1.getName(), subtask1.getDescription(),
+                TaskStatus.DONE, subtask1.getStartTime(), subtask1.getDuration()));
+        taskManager.addSubtask(new Subtask(epicId, subtask2.getName(), subtask2.getDescription(),
+                TaskStatus.NEW, subtask2.getStartTime(), subtask2.getDuration()));
+        taskManager.addEpic(epic2);
+
+        BoardStats stats = taskManager.getStats();
+        assertEquals(1, stats.getCount(TaskType.TASK, TaskStatus.NEW), "Неверное число новых задач.");
+        assertEquals(1, stats.getCount(TaskType.TASK, TaskStatus.DONE), "Неверное число выполненных задач.");
+        assertEquals(2, stats.getTotal(TaskType.EPIC), "Неверное число эпиков.");
+        assertEquals(1, stats.getCount(TaskType.EPIC, TaskStatus.IN_PROGRESS), "Эпик должен быть в работе.");
+        assertEquals(Duration.ofMinutes(120 + 180 + 120 + 180), stats.getScheduledDuration(),
+                "Неверная суммарная длительность.");
+        assertEquals(2, stats.getEpics().size(), "Прогресс должен быть по каждому эпику.");
+        assertEquals(50, stats.getEpics().getFirst().getPercentDone(), "Неверный прогресс эпика.");
+        assertEquals(0, stats.getEpics().getLast().getSubtasks(), "У второго эпика нет подзадач.");
+
+        taskManager.deleteTask(1);
+        taskManager.updateSubtask(new Subtask(firstId, epicId, subtask1.getName(), subtask1.getDescription(),
+                TaskStatus.DONE, subtask1.getStartTime(), Duration.ofMinutes(60)));
+        taskManager.clearTasksList();
+
+        stats = taskManager.getStats();
+        assertEquals(0, stats.getTotal(TaskType.TASK), "Задачи должны быть удалены из статистики.");
+        assertEquals(Duration.ofMinutes(60 + 180), stats.getScheduledDuration(),
+                "Длительность должна пересчитываться при изменениях.");
+
+        taskManager.deleteEpic(epicId);
+        stats = taskManager.getStats();
+        assertEquals(0, stats.getTotal(TaskType.SUBTASK), "Подзадачи должны удаляться вместе с эпиком.");
+        assertEquals(Duration.ZERO, stats.getScheduledDuration(), "Запланированного времени не осталось.");
+    }
+
+    @Test
+    void shouldSumDurationsByTypeAndStatus() {
+        taskManager.addTasks(List.of(task1, task2));
+        int epicId = taskManager.addEpic(epic1);
+        taskManager.addSubtask(new Subtask(epicId, subtask1.getName(), subtask1.getDescription(),
+                TaskStatus.DONE, subtask1.getStartTime(), subtask1.getDuration()));
+        taskManager.addSubtask(new Subtask(epicId, subtask2.getName(), subtask2.getDescription(),
+                TaskStatus.DONE, subtask2.getStartTime(), subtask2.getDuration()));
+
+        assertEquals(task1.getDuration(), taskManager.getTotalDuration(TaskType.TASK, TaskStatus.NEW),
+                "Неверная длительность новых задач.");
+        assertEquals(subtask1.getDuration().plus(subtask2.getDuration()),
+                taskManager.getTotalDuration(TaskType.SUBTASK, TaskStatus.DONE),
+                "Неверная длительность выполненных подзадач.");
+        assertEquals(taskManager.getEpic(epicId).getDuration(),
+                taskManager.getTotalDuration(TaskType.EPIC, TaskStatus.DONE), "Неверная длительность эпиков.");
+        assertEquals(Duration.ZERO, taskManager.getTotalDuration(TaskType.SUBTASK, TaskStatus.NEW),
+                "Для пустой выборки длительность должна быть нулевой.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTotalDuration(null, TaskStatus.NEW));
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTotalDuration(TaskType.TASK, null));
+    }
+
+    @Test
+    void shouldKeepExactTimesInCompactRepresentation() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.JULY, 1, 9, 15, 42, 123_456_789);
+        int epicId = taskManager.addEpic(epic1);
+        int firstId = taskManager.addSubtask(new Subtask(epicId, "Подзадача", "Общее описание", TaskStatus.NEW,
+                start, Duration.ofSeconds(90)));
+        int secondId = taskManager.addSubtask(new Subtask(epicId, "Подзадача", "Общее описание", TaskStatus.NEW,
+                start.plusHours(1), Duration.ofMinutes(30)));
+
+        Subtask first = taskManager.getSubtask(firstId);
+        assertEquals(start, first.getStartTime(), "Время начала должно сохраняться без потерь.");
+        assertEquals(start.plusSeconds(90), first.getEndTime(), "Время окончания должно вычисляться точно.");
+        assertEquals(epicId, first.getEpicID(), "Эпик подзадачи не сохранился.");
+        assertSame(first.getDescription(), taskManager.getSubtask(secondId).getDescription(),
+                "Одинаковые тексты должны храниться в одном экземпляре.");
+
+        Epic epic = taskManager.getEpic(epicId);
+        assertEquals(start, epic.getStartTime(), "Начало эпика должно совпадать с первой подзадачей.");
+        assertEquals(start.plusHours(1).plusMinutes(30), epic.getEndTime(),
+                "Окончание эпика должно совпадать с последней подзадачей.");
+        assertEquals(Duration.ofSeconds(90).plusMinutes(30), epic.getDuration(),
+                "Длительность эпика должна суммироваться.");
+
+        taskManager.deleteSubtask(secondId);
+        assertEquals(start.plusSeconds(90), taskManager.getEpic(epicId).getEndTime(),
+                "Окончание эпика должно пересчитываться после удаления.");
+    }
+
+    @Test
+    void shouldArchiveOldDoneTasks() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.JULY, 1, 9, 0);
+        int oldDoneId = taskManager.addTask(new Task("Старая", "Описание", TaskStatus.DONE, start,
+                Duration.ofMinutes(30)));
+        int newId = taskManager.addTask(new Task("Новая", "Описание", TaskStatus.NEW, start.plusHours(1),
+                Duration.ofMinutes(30)));
+        int recentDoneId = taskManager.addTask(new Task("Свежая", "Описание", TaskStatus.DONE,
+                LocalDateTime.now().plusDays(1), Duration.ofMinutes(30)));
+        taskManager.updateTask(new Task(recentDoneId, "Свежая", "Описание", TaskStatus.IN_PROGRESS,
+                LocalDateTime.now().plusDays(1), Duration.ofMinutes(30)));
+        taskManager.getTask(oldDoneId);
+
+        assertEquals(0, taskManager.archiveDoneTasks(Duration.ofDays(1)),
+                "Задачи, завершённые только что, не должны архивироваться.");
+        assertEquals(1, taskManager.archiveDoneTasks(Duration.ZERO), "Архивировано неверное число задач.");
+        assertThrows(NotFoundException.class, () -> taskManager.getTask(oldDoneId),
+                "Архивированная задача должна покинуть активную доску.");
+        assertEquals(List.of(newId, recentDoneId),
+                taskManager.getPrioritizedTasks().stream().map(Task::getID).toList(),
+                "Архивированная задача должна покинуть список приоритетов.");
+        assertTrue(taskManager.getHistory().stream().noneMatch(task -> task.getID() == oldDoneId),
+                "Архивированная задача должна покинуть историю.");
+
+        Task archived = taskManager.getArchivedTask(oldDoneId);
+        assertEquals("Старая", archived.getName(), "Задача в архиве не совпадает с исходной.");
+        assertEquals(start, archived.getStartTime(), "Время начала в архиве не сохранилось.");
+        assertEquals(List.of(oldDoneId),
+                taskManager.getArchivedTasksPage(0, 10).stream().map(Task::getID).toList(),
+                "Неверная страница архива.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.archiveDoneTasks(Duration.ofMinutes(-1)),
+                "Отрицательный возраст архивации должен отклоняться.");
+    }
+
+    @Test
+    void shouldFindEarliestFreeSlot() {
+        LocalDateTime day = LocalDateTime.of(2025, Month.JULY, 1, 9, 0);
+        taskManager.addTasks(List.of(
+                new Task("Длинная", "Описание", TaskStatus.NEW, day.minusHours(2), Duration.ofMinutes(150)),
+                new Task("Первая", "Описание", TaskStatus.NEW, day.plusHours(1), Duration.ofMinutes(60)),
+                new Task("Вторая", "Описание", TaskStatus.NEW, day.plusHours(2).plusMinutes(30),
+                        Duration.ofMinutes(60))));
+
+        assertEquals(day.plusMinutes(30), taskManager.findFreeSlot(Duration.ofMinutes(30), day),
+                "Окно должно начинаться после задачи, покрывающей начальный момент.");
+        assertEquals(day.plusHours(2), taskManager.findFreeSlot(Duration.ofMinutes(30), day.plusHours(1)),
+                "Окно должно помещаться между задачами.");
+        assertEquals(day.plusHours(3).plusMinutes(30), taskManager.findFreeSlot(Duration.ofMinutes(45), day),
+                "Слишком короткие промежутки должны пропускаться.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.findFreeSlot(Duration.ZERO, day));
+
+        LocalDateTime slot = taskManager.findFreeSlot(Duration.ofMinutes(45), day);
+        taskManager.addTask(new Task("Новая", "Описание", TaskStatus.NEW, slot, Duration.ofMinutes(45)));
+    }
+
     @Test
     void testTaskIntersectionException() {
         taskManager.addTask(task1);
@@ -148,6 +662,27 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals("Задача \"Вторая\" пересекается по времени с другой задачей!", exception.getMessage());
     }
 
+    @Test
+    void shouldAllowAdjacentTasksAndRejectOverlappingUpdate() {
+        taskManager.addTask(task1);
+        Task adjacentTask = new Task("Соседняя", "Описание 3", TaskStatus.NEW,
+                LocalDateTime.of(2025, Month.JANUARY, 1, 15, 0), Duration.ofMinutes(60));
+        taskManager.addTask(adjacentTask);
+
+        assertEquals(2, taskManager.getTasksList().size(), "Смежные задачи не пересекаются.");
+
+        Task movedTask = new Task(1, task1.getName(), task1.getDescription(), task1.getStatus(),
+                LocalDateTime.of(2025, Month.JANUARY, 1, 14, 0), Duration.ofMinutes(120));
+        assertThrows(TaskIntersectionException.class, () -> taskManager.updateTask(movedTask),
+                "Обновление не должно пересекаться с другой задачей.");
+
+        Task shiftedTask = new Task(1, task1.getName(), task1.getDescription(), task1.getStatus(),
+                LocalDateTime.of(2025, Month.JANUARY, 1, 12, 0), Duration.ofMinutes(180));
+        taskManager.updateTask(shiftedTask);
+        assertEquals(shiftedTask.getStartTime(), taskManager.getTask(1).getStartTime(),
+                "Задача должна пересекаться только сама с собой.");
+    }
+
     @Test
     void testHistoryAfterGettingTasks() {
         taskManager.addTask(task1);
@@ -251,6 +786,39 @@ abstract class TaskManagerTest<T extends TaskManager> {
                 "Статус эпика должен быть IN_PROGRESS, если подзадачи имеют статус IN_PROGRESS.");
     }
 
+    @Test
+    void shouldRecalculateEpicTimeAfterSubtaskChanges() {
+        taskManager.addEpic(epic1);
+        subtask1 = new Subtask(1, subtask1.getName(), subtask1.getDescription(), subtask1.getStatus(),
+                subtask1.getStartTime(), subtask1.getDuration());
+        subtask3 = new Subtask(1, subtask3.getName(), subtask3.getDescription(), subtask3.getStatus(),
+                subtask3.getStartTime(), subtask3.getDuration());
+        taskManager.addSubtask(subtask1);
+        taskManager.addSubtask(subtask3);
+
+        Epic epic = taskManager.getEpic(1);
+        assertEquals(subtask1.getStartTime(), epic.getStartTime(), "Начало эпика не совпадает.");
+        assertEquals(subtask3.getEndTime(), epic.getEndTime(), "Окончание эпика не совпадает.");
+        assertEquals(Duration.ofMinutes(270), epic.getDuration(), "Продолжительность эпика не совпадает.");
+
+        taskManager.updateSubtask(new Subtask(2, 1, subtask1.getName(), subtask1.getDescription(),
+                TaskStatus.DONE, subtask1.getStartTime(), Duration.ofMinutes(60)));
+        epic = taskManager.getEpic(1);
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Статус эпика должен быть DONE.");
+        assertEquals(Duration.ofMinutes(210), epic.getDuration(), "Продолжительность эпика не совпадает.");
+
+        taskManager.deleteSubtask(3);
+        epic = taskManager.getEpic(1);
+        assertEquals(subtask1.getStartTime().plusMinutes(60), epic.getEndTime(),
+                "Окончание эпика должно пересчитаться после удаления.");
+
+        taskManager.deleteSubtask(2);
+        epic = taskManager.getEpic(1);
+        assertEquals(TaskStatus.NEW, epic.getStatus(), "Статус пустого эпика должен быть NEW.");
+        assertNull(epic.getStartTime(), "У пустого эпика нет времени начала.");
+        assertEquals(Duration.ZERO, epic.getDuration(), "Продолжительность пустого эпика равна нулю.");
+    }
+
     @Test
     void shouldRemoveSubtaskAndClearItsIdFromEpic() {
         taskManager.addEpic(epic1);
@@ -270,6 +838,27 @@ abstract class TaskManagerTest<T extends TaskManager> {
                 "Id подзадачи не должен оставаться в эпике.");
     }
 
+    @Test
+    void shouldKeepOtherSubtaskIdsAfterDeletingFromMiddle() {
+        taskManager.addEpic(epic1);
+        LocalDateTime start = LocalDateTime.of(2025, Month.APRIL, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            taskManager.addSubtask(new Subtask(1, "Подзадача " + i, "Описание", TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        taskManager.deleteSubtask(3);
+        taskManager.deleteSubtask(5);
+
+        Epic epic = taskManager.getEpic(1);
+        assertEquals(3, epic.getSubtasksCount(), "В эпике должны остаться три подзадачи.");
+        assertTrue(epic.hasSubtaskID(2) && epic.hasSubtaskID(4) && epic.hasSubtaskID(6),
+                "Оставшиеся подзадачи должны быть привязаны к эпику.");
+        assertFalse(epic.hasSubtaskID(3) || epic.hasSubtaskID(5),
+                "Удалённые подзадачи не должны оставаться в эпике.");
+        assertEquals(3, taskManager.getEpicSubtasksList(1).size(), "Список подзадач эпика не совпадает.");
+    }
+
     @Test
     void shouldPreserveSubtasksAfterEpicUpdate() {
         taskManager.addEpic(epic1);